@@ -0,0 +1,89 @@
+package com.crl.hh.benchmark;
+
+import com.crl.hh.repository.NotFoundIndicatorsRepository;
+import com.crl.hh.repository.SiteEntityRepository;
+import com.crl.hh.repository.UserRepository;
+import com.crl.hh.repository.models.User;
+import com.crl.hh.repository.models.enums.Role;
+import com.crl.hh.service.osint.catalogue.SiteCatalogue;
+import com.crl.hh.service.user.UserDetailsCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+
+final class BenchmarkFixtures {
+
+    static final String SITES_FILE = "file:src/main/resources/static/urlRepository.json";
+    static final String INDICATORS_FILE = "file:src/main/resources/static/notFoundIndicators.json";
+    static final String JWT_SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+
+    private static final String PROFILE_PARAGRAPH =
+            "Open source maintainer working on distributed systems, observability and developer tooling. " +
+            "Pinned repositories, contributions in the last year, followers and following, organizations, " +
+            "achievements and sponsors. Popular repositories updated recently with stars and forks. ";
+
+    private BenchmarkFixtures() {
+    }
+
+    static SiteEntityRepository siteEntityRepository() {
+        SiteEntityRepository repository = new SiteEntityRepository(new DefaultResourceLoader(), new ObjectMapper());
+        ReflectionTestUtils.setField(repository, "sitesFile", SITES_FILE);
+        return repository;
+    }
+
+    static NotFoundIndicatorsRepository notFoundIndicatorsRepository() {
+        NotFoundIndicatorsRepository repository = new NotFoundIndicatorsRepository(new DefaultResourceLoader(), new ObjectMapper());
+        ReflectionTestUtils.setField(repository, "notFoundIndicatorsFile", INDICATORS_FILE);
+        return repository;
+    }
+
+    static SiteCatalogue siteCatalogue() {
+        SiteCatalogue catalogue = new SiteCatalogue(siteEntityRepository(), notFoundIndicatorsRepository());
+        ReflectionTestUtils.setField(catalogue, "watchEnabled", false);
+        catalogue.init();
+        return catalogue;
+    }
+
+    /**
+     * Rendered profile text of roughly {@code size} characters, optionally ending with a not-found message.
+     */
+    static String pageBody(int size, String tail) {
+        StringBuilder body = new StringBuilder(size + 128);
+        while (body.length() < size) {
+            body.append(PROFILE_PARAGRAPH);
+        }
+        if (tail != null) {
+            body.append(tail);
+        }
+        return body.toString();
+    }
+
+    static UserRepository userRepository(String username) {
+        User user = new User(1L, username, username + "@example.com", "{noop}password", Role.USER, true);
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findUserByUsername" -> username.equals(args[0]) ? Optional.of(user) : Optional.empty();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "UserRepository stub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Local-only principal cache; the Redis collaborators are never touched with {@code redisEnabled=false}.
+     */
+    static UserDetailsCache userDetailsCache() {
+        UserDetailsCache cache = new UserDetailsCache(null, null);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(cache, "maxSize", 10_000L);
+        ReflectionTestUtils.setField(cache, "redisEnabled", false);
+        cache.init();
+        return cache;
+    }
+}
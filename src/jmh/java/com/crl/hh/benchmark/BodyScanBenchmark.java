@@ -0,0 +1,76 @@
+package com.crl.hh.benchmark;
+
+import com.crl.hh.matcher.IndicatorMatcher;
+import com.crl.hh.service.osint.http.BodyScan;
+import com.crl.hh.service.osint.http.BodyScanSubscriber;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP-stage body check on a large HTML page whose verdict is decided near the top: buffering the whole body
+ * and scanning the stripped text, against the streaming subscriber fed in 16 KiB chunks as the client would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BodyScanBenchmark {
+
+    private static final String USERNAME = "octocat";
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    @Param({"262144"})
+    private int bodySize;
+
+    @Param({"profile", "notFound"})
+    private String page;
+
+    private byte[] body;
+    private IndicatorMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        matcher = IndicatorMatcher.compile(BenchmarkFixtures.notFoundIndicatorsRepository().load());
+        String heading = page.equals("notFound") ? "Sorry, nobody on Reddit goes by that name." : USERNAME;
+        String html = "<html><head><script>window.__state = {\"user\": null};</script><style>p { margin: 0 }</style></head>"
+                + "<body><h1>" + heading + "</h1><p>" + BenchmarkFixtures.pageBody(bodySize, null) + "</p></body></html>";
+        body = html.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public boolean bufferedRegex() {
+        String text = new String(body, StandardCharsets.UTF_8)
+                .replaceAll("(?is)<(script|style|noscript)\\b[^>]*>.*?</\\1\\s*>", " ")
+                .replaceAll("(?s)<[^>]*>", " ");
+        if (matcher.findFirst(text) != null) return false;
+        return text.toLowerCase(Locale.ROOT).contains(USERNAME);
+    }
+
+    @Benchmark
+    public boolean streamingScan() {
+        BodyScanSubscriber subscriber = new BodyScanSubscriber(StandardCharsets.UTF_8, matcher, USERNAME, 1 << 20, 4096);
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {}
+
+            @Override
+            public void cancel() {}
+        });
+
+        for (int offset = 0; offset < body.length && !subscriber.getBody().toCompletableFuture().isDone(); offset += CHUNK_SIZE) {
+            subscriber.onNext(List.of(ByteBuffer.wrap(body, offset, Math.min(CHUNK_SIZE, body.length - offset))));
+        }
+        subscriber.onComplete();
+
+        BodyScan scan = subscriber.getBody().toCompletableFuture().join();
+        return scan.notFoundIndicator() == null && scan.usernameSeen();
+    }
+}
@@ -0,0 +1,46 @@
+package com.crl.hh.benchmark;
+
+import com.crl.hh.matcher.IndicatorMatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndicatorMatchingBenchmark {
+
+    @Param({"4096", "65536"})
+    private int bodySize;
+
+    @Param({"profile", "notFound"})
+    private String page;
+
+    private String body;
+    private IndicatorMatcher matcher;
+    private List<String> indicatorsLower;
+
+    @Setup
+    public void setUp() {
+        List<String> indicators = BenchmarkFixtures.notFoundIndicatorsRepository().load();
+        matcher = IndicatorMatcher.compile(indicators);
+        indicatorsLower = indicators.stream().map(s -> s.toLowerCase(Locale.ROOT).trim()).toList();
+        body = BenchmarkFixtures.pageBody(bodySize, page.equals("notFound") ? "Sorry, nobody on Reddit goes by that name." : null);
+    }
+
+    @Benchmark
+    public boolean automaton() {
+        return matcher.matches(body);
+    }
+
+    @Benchmark
+    public boolean lowercaseAndContains() {
+        String lower = body.toLowerCase(Locale.ROOT);
+        return indicatorsLower.stream().anyMatch(lower::contains);
+    }
+}
@@ -0,0 +1,52 @@
+package com.crl.hh.benchmark;
+
+import com.crl.hh.configuration.customFilter.JWTFilter;
+import com.crl.hh.service.jwt.JWTService;
+import com.crl.hh.service.user.MyUserDetailsService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTFilterBenchmark {
+
+    private static final String USERNAME = "benchmark-user";
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {};
+
+    private JWTFilter jwtFilter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JWTService jwtService = new JWTService(BenchmarkFixtures.userRepository(USERNAME));
+        ReflectionTestUtils.setField(jwtService, "secretKey", BenchmarkFixtures.JWT_SECRET);
+        ReflectionTestUtils.setField(jwtService, "expirationTime", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 10_000L);
+        jwtService.init();
+
+        jwtFilter = new JWTFilter(jwtService, new MyUserDetailsService(BenchmarkFixtures.userRepository(USERNAME), BenchmarkFixtures.userDetailsCache()));
+        authorization = "Bearer " + jwtService.generateToken(USERNAME);
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/osint/search-by-username");
+        request.addHeader("Authorization", authorization);
+        try {
+            jwtFilter.doFilter(request, new MockHttpServletResponse(), NOOP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.crl.hh.benchmark;
+
+import com.crl.hh.service.jwt.JWTService;
+import com.crl.hh.service.user.MyUserDetailsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTServiceBenchmark {
+
+    private static final String USERNAME = "benchmark-user";
+
+    private JWTService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JWTService(BenchmarkFixtures.userRepository(USERNAME));
+        ReflectionTestUtils.setField(jwtService, "secretKey", BenchmarkFixtures.JWT_SECRET);
+        ReflectionTestUtils.setField(jwtService, "expirationTime", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 10_000L);
+        jwtService.init();
+
+        userDetails = new MyUserDetailsService(BenchmarkFixtures.userRepository(USERNAME), BenchmarkFixtures.userDetailsCache()).loadUserByUsername(USERNAME);
+        token = jwtService.generateToken(USERNAME);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken(USERNAME);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean extractAndValidate() {
+        return jwtService.extractUsername(token) != null && jwtService.validateToken(token, userDetails);
+    }
+}
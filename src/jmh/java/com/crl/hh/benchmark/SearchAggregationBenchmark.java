@@ -0,0 +1,78 @@
+package com.crl.hh.benchmark;
+
+import com.crl.hh.repository.models.SiteEntity;
+import com.crl.hh.repository.models.dto.SearchReport;
+import com.crl.hh.repository.models.enums.SiteStatus;
+import com.crl.hh.service.osint.OSINTService;
+import com.crl.hh.service.osint.cache.SearchResultCache;
+import com.crl.hh.service.osint.catalogue.SiteCatalogue;
+import com.crl.hh.service.osint.dispatch.RedisCheckDispatcher;
+import com.crl.hh.service.osint.health.SiteHealthRegistry;
+import com.crl.hh.service.osint.http.HostConcurrencyLimiter;
+import com.crl.hh.service.osint.metrics.OsintMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * searchByUsername with every verdict served from L1, so the measurement covers cache lookup,
+ * future fan-out and result aggregation without any network or browser work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchAggregationBenchmark {
+
+    private static final String USERNAME = "octocat";
+
+    private OSINTService osintService;
+
+    @Setup
+    public void setUp() {
+        SiteCatalogue siteCatalogue = BenchmarkFixtures.siteCatalogue();
+
+        SearchResultCache searchResultCache = new SearchResultCache(null);
+        ReflectionTestUtils.setField(searchResultCache, "hitTtlSeconds", 3600L);
+        ReflectionTestUtils.setField(searchResultCache, "missTtlSeconds", 3600L);
+        ReflectionTestUtils.setField(searchResultCache, "l1MaxSize", 10_000L);
+        ReflectionTestUtils.setField(searchResultCache, "redisEnabled", false);
+        searchResultCache.init();
+
+        List<SiteEntity> sites = siteCatalogue.current().sites();
+        for (int i = 0; i < sites.size(); i++) {
+            searchResultCache.put(USERNAME, sites.get(i), i % 2 == 0 ? SiteStatus.FOUND : SiteStatus.ABSENT);
+        }
+
+        osintService = new OSINTService(
+                siteCatalogue,
+                null,
+                null,
+                new RedisCheckDispatcher(null),
+                searchResultCache,
+                null,
+                new HostConcurrencyLimiter(),
+                new SiteHealthRegistry(),
+                new OsintMetrics(new SimpleMeterRegistry()),
+                new ObjectMapper());
+        ReflectionTestUtils.setField(osintService, "executorMode", "virtual");
+        ReflectionTestUtils.setField(osintService, "searchDeadlineMs", 30_000L);
+        osintService.init();
+    }
+
+    @TearDown
+    public void tearDown() {
+        osintService.cleanup();
+    }
+
+    @Benchmark
+    public SearchReport cachedSearch() {
+        return osintService.searchByUsername(USERNAME, null);
+    }
+}
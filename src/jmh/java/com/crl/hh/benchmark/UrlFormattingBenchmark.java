@@ -0,0 +1,46 @@
+package com.crl.hh.benchmark;
+
+import com.crl.hh.repository.models.SiteEntity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlFormattingBenchmark {
+
+    private List<SiteEntity> sites;
+    private final String username = "octocat";
+
+    @Setup
+    public void setUp() {
+        sites = BenchmarkFixtures.siteEntityRepository().load();
+    }
+
+    @Benchmark
+    public void stringFormat(Blackhole blackhole) {
+        for (SiteEntity site : sites) {
+            blackhole.consume(String.format(site.getUrlPattern(), username));
+        }
+    }
+
+    @Benchmark
+    public void replacePlaceholder(Blackhole blackhole) {
+        for (SiteEntity site : sites) {
+            blackhole.consume(site.getUrlPattern().replace("%s", username));
+        }
+    }
+
+    @Benchmark
+    public void compiledTemplate(Blackhole blackhole) {
+        for (SiteEntity site : sites) {
+            blackhole.consume(site.url(username));
+        }
+    }
+}
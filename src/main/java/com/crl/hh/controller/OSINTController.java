@@ -1,13 +1,19 @@
 package com.crl.hh.controller;
 
+import com.crl.hh.repository.models.dto.SearchJobView;
+import com.crl.hh.repository.models.dto.SearchReport;
 import com.crl.hh.service.osint.OSINTService;
+import com.crl.hh.service.osint.job.SearchJobService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.security.Principal;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/osint")
@@ -15,9 +21,37 @@ import java.util.List;
 public class OSINTController {
 
     private final OSINTService osintService;
+    private final SearchJobService searchJobService;
 
     @GetMapping("/search-by-username")
-    public List<String> searchByUsername(@RequestParam String username) {
-        return osintService.searchByUsername(username);
+    public SearchReport searchByUsername(@RequestParam String username, @RequestParam(required = false) Long deadlineMs) {
+        return osintService.searchByUsername(username, deadlineMs);
+    }
+
+    @GetMapping(value = "/search-by-username/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamByUsername(@RequestParam String username) {
+        return osintService.streamByUsername(username);
+    }
+
+    @PostMapping(value = "/search-by-username/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> searchBatch(@RequestBody List<String> usernames) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> osintService.searchBatch(usernames, out));
+    }
+
+    @PostMapping("/jobs")
+    public SearchJobView submitJob(@RequestBody List<String> usernames, Principal principal) {
+        return searchJobService.submit(usernames, principal.getName());
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<SearchJobView> getJob(@PathVariable UUID id, @RequestParam(required = false) Long after, Principal principal) {
+        return ResponseEntity.of(searchJobService.get(id, principal.getName(), after));
+    }
+
+    @DeleteMapping("/jobs/{id}")
+    public String cancelJob(@PathVariable UUID id, Principal principal) {
+        return searchJobService.cancel(id, principal.getName()) ? "Job " + id + " cancelled" : "Job " + id + " not found or already finished";
     }
 }
@@ -1,13 +1,19 @@
 package com.crl.hh.controller.admin;
 
-import com.crl.hh.repository.models.User;
+import com.crl.hh.repository.models.dto.UserPage;
+import com.crl.hh.repository.models.enums.Role;
+import com.crl.hh.service.osint.cache.SearchResultCache;
+import com.crl.hh.service.osint.catalogue.SiteCatalogue;
+import com.crl.hh.service.osint.http.HttpProbeClient;
+import com.crl.hh.service.user.UserExportService;
 import com.crl.hh.service.user.UserService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/admin")
@@ -15,9 +21,52 @@ import java.util.List;
 public class AdminController {
 
     private final UserService userService;
+    private final SearchResultCache searchResultCache;
+    private final UserExportService userExportService;
+    private final SiteCatalogue siteCatalogue;
+    private final HttpProbeClient httpProbeClient;
 
     @GetMapping("/all-users")
-    public List<User> getAllUsers() {
-        return userService.allUsers();
+    public UserPage getAllUsers(@RequestParam(required = false) Long after,
+                                @RequestParam(defaultValue = "100") int size,
+                                @RequestParam(required = false) Role role,
+                                @RequestParam(required = false) Boolean verified) {
+        return userService.usersPage(after, size, role, verified);
+    }
+
+    @GetMapping(value = "/all-users/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userExportService::exportNdjson);
+    }
+
+    @PatchMapping("/change-role")
+    public String changeRole(@RequestParam String username, @RequestParam Role role) {
+        return userService.changeRole(username, role);
+    }
+
+    @GetMapping("/osint/cache-stats")
+    public Map<String, Long> getCacheStats() {
+        return searchResultCache.stats();
+    }
+
+    @GetMapping("/osint/http-stats")
+    public Map<String, Long> getHttpStats() {
+        return httpProbeClient.stats();
+    }
+
+    @GetMapping("/osint/catalogue")
+    public Map<String, Object> getCatalogue() {
+        return siteCatalogue.describe();
+    }
+
+    @PostMapping("/osint/catalogue/reload")
+    public String reloadCatalogue() {
+        try {
+            return "Catalogue version " + siteCatalogue.reload().version() + " active";
+        } catch (IllegalStateException e) {
+            return "Reload rejected, keeping version " + siteCatalogue.current().version() + " ( " + e.getMessage() + " )";
+        }
     }
 }
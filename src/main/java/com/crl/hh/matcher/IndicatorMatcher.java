@@ -0,0 +1,218 @@
+package com.crl.hh.matcher;
+
+import java.util.*;
+
+/**
+ * Aho–Corasick automaton over a fixed set of indicators. Characters are matched
+ * case-insensitively by {@link Character#toLowerCase(char)}, the same folding the
+ * in-page scripts get from {@code String.toLowerCase()}. Instances are immutable
+ * and safe to share between threads.
+ */
+public final class IndicatorMatcher {
+
+    public static final int NO_MATCH = -1;
+
+    private static final int ASCII = 128;
+    private static final IndicatorMatcher EMPTY = compile(List.of());
+
+    private final List<String> indicators;
+    private final int[] asciiDelta;
+    private final char[][] wideKeys;
+    private final int[][] wideTargets;
+    private final int[] fail;
+    private final int[] terminal;
+    private final int[] dictionary;
+    private final int[] output;
+
+    private IndicatorMatcher(List<String> indicators, int[] asciiDelta, char[][] wideKeys, int[][] wideTargets,
+                             int[] fail, int[] terminal, int[] dictionary, int[] output) {
+        this.indicators = indicators;
+        this.asciiDelta = asciiDelta;
+        this.wideKeys = wideKeys;
+        this.wideTargets = wideTargets;
+        this.fail = fail;
+        this.terminal = terminal;
+        this.dictionary = dictionary;
+        this.output = output;
+    }
+
+    public static IndicatorMatcher empty() {
+        return EMPTY;
+    }
+
+    public static IndicatorMatcher compile(Collection<String> rawIndicators) {
+        List<String> indicators = rawIndicators.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .distinct()
+                .toList();
+
+//      TRIE
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Integer> terminals = new ArrayList<>();
+        children.add(new HashMap<>());
+        terminals.add(NO_MATCH);
+
+        for (int i = 0; i < indicators.size(); i++) {
+            String indicator = indicators.get(i);
+            int state = 0;
+            for (int j = 0; j < indicator.length(); j++) {
+                char c = fold(indicator.charAt(j));
+                Integer next = children.get(state).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new HashMap<>());
+                    terminals.add(NO_MATCH);
+                    children.get(state).put(c, next);
+                }
+                state = next;
+            }
+            if (terminals.get(state) == NO_MATCH) terminals.set(state, i);
+        }
+
+        int states = children.size();
+        int[] asciiDelta = new int[states * ASCII];
+        char[][] wideKeys = new char[states][];
+        int[][] wideTargets = new int[states][];
+        int[] fail = new int[states];
+        int[] terminal = new int[states];
+        int[] dictionary = new int[states];
+        int[] output = new int[states];
+
+        for (int s = 0; s < states; s++) {
+            terminal[s] = terminals.get(s);
+            TreeMap<Character, Integer> wide = new TreeMap<>(children.get(s));
+            wide.headMap((char) ASCII).clear();
+
+            char[] keys = new char[wide.size()];
+            int[] targets = new int[wide.size()];
+            int k = 0;
+            for (Map.Entry<Character, Integer> edge : wide.entrySet()) {
+                keys[k] = edge.getKey();
+                targets[k++] = edge.getValue();
+            }
+            wideKeys[s] = keys;
+            wideTargets[s] = targets;
+        }
+
+//      FAILURE LINKS AND ASCII DFA, BREADTH FIRST
+        IndicatorMatcher partial = new IndicatorMatcher(indicators, asciiDelta, wideKeys, wideTargets, fail, terminal, dictionary, output);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        dictionary[0] = NO_MATCH;
+        output[0] = terminal[0];
+        for (char c = 0; c < ASCII; c++) {
+            Integer child = children.get(0).get(c);
+            asciiDelta[c] = child == null ? 0 : child;
+        }
+        for (int child : children.get(0).values()) {
+            fail[child] = 0;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            int f = fail[s];
+
+            dictionary[s] = terminal[f] != NO_MATCH ? f : dictionary[f];
+            output[s] = terminal[s] != NO_MATCH ? terminal[s] : output[f];
+
+            for (char c = 0; c < ASCII; c++) {
+                Integer child = children.get(s).get(c);
+                asciiDelta[s * ASCII + c] = child == null ? asciiDelta[f * ASCII + c] : child;
+            }
+
+            for (Map.Entry<Character, Integer> edge : children.get(s).entrySet()) {
+                int child = edge.getValue();
+                fail[child] = partial.next(f, edge.getKey());
+                queue.add(child);
+            }
+        }
+
+        return partial;
+    }
+
+    public List<String> getIndicators() {
+        return indicators;
+    }
+
+    public boolean isEmpty() {
+        return indicators.isEmpty();
+    }
+
+    public int initialState() {
+        return 0;
+    }
+
+    public int next(int state, char c) {
+        c = fold(c);
+        if (c < ASCII) {
+            return asciiDelta[state * ASCII + c];
+        }
+
+        while (true) {
+            int index = Arrays.binarySearch(wideKeys[state], c);
+            if (index >= 0) return wideTargets[state][index];
+            if (state == 0) return 0;
+            state = fail[state];
+        }
+    }
+
+    /**
+     * Index of an indicator that ends at {@code state}, or {@link #NO_MATCH}.
+     */
+    public int matchAt(int state) {
+        return output[state];
+    }
+
+    public boolean matches(CharSequence text) {
+        return firstMatch(text) != NO_MATCH;
+    }
+
+    /**
+     * Index of the first indicator found while scanning {@code text}, or {@link #NO_MATCH}.
+     */
+    public int firstMatch(CharSequence text) {
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = next(state, text.charAt(i));
+            if (output[state] != NO_MATCH) return output[state];
+        }
+        return NO_MATCH;
+    }
+
+    public String findFirst(CharSequence text) {
+        int match = firstMatch(text);
+        return match == NO_MATCH ? null : indicators.get(match);
+    }
+
+    public List<String> findAll(CharSequence text) {
+        boolean[] seen = new boolean[indicators.size()];
+        List<String> found = new ArrayList<>();
+
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = next(state, text.charAt(i));
+            int hit = terminal[state] != NO_MATCH ? state : dictionary[state];
+            while (hit != NO_MATCH) {
+                int index = terminal[hit];
+                if (!seen[index]) {
+                    seen[index] = true;
+                    found.add(indicators.get(index));
+                }
+                hit = dictionary[hit];
+            }
+        }
+        return found;
+    }
+
+    public String getIndicator(int index) {
+        return indicators.get(index);
+    }
+
+//  ASCII STAYS ON THE FAST PATH, THE REST (INCLUDING THE KELVIN SIGN FOLDING TO 'k') GOES THROUGH THE JDK
+    private static char fold(char c) {
+        if (c < ASCII) return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        return Character.toLowerCase(c);
+    }
+}
@@ -2,8 +2,6 @@ package com.crl.hh.repository;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.annotation.PostConstruct;
-import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
@@ -12,8 +10,9 @@ import org.springframework.stereotype.Repository;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Objects;
 
 @Repository
 @RequiredArgsConstructor
@@ -25,11 +24,7 @@ public class NotFoundIndicatorsRepository {
     @Value("${notFoundIndicators.file:classpath:./src/main/resources/static/notFoundIndicators.json}")
     private String notFoundIndicatorsFile;
 
-    @Getter
-    private List<String> notFoundIndicators;
-
-    @PostConstruct
-    public void init() {
+    public List<String> load() {
         Resource resource = resourceLoader.getResource(notFoundIndicatorsFile);
         if (!resource.exists()) {
             throw new IllegalStateException("Resource not found: " + notFoundIndicatorsFile);
@@ -37,10 +32,21 @@ public class NotFoundIndicatorsRepository {
 
         try (InputStream is = resource.getInputStream()) {
             List<String> loadedIndicators = objectMapper.readValue(is, new TypeReference<>() {});
-            this.notFoundIndicators = new ArrayList<>(loadedIndicators);
-
+            List<String> indicators = loadedIndicators.stream()
+                    .filter(Objects::nonNull)
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .toList();
+            if (indicators.isEmpty()) {
+                throw new IllegalStateException("No not-found indicators in " + notFoundIndicatorsFile);
+            }
+            return indicators;
         } catch (IOException ioe) {
-            throw new IllegalStateException("Failed to load sites file: " + notFoundIndicatorsFile, ioe);
+            throw new IllegalStateException("Failed to load indicators file: " + notFoundIndicatorsFile, ioe);
         }
     }
+
+    public Path watchablePath() {
+        return Resources.watchablePath(resourceLoader.getResource(notFoundIndicatorsFile));
+    }
 }
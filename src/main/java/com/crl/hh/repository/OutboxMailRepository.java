@@ -0,0 +1,24 @@
+package com.crl.hh.repository;
+
+import com.crl.hh.repository.models.OutboxMail;
+import com.crl.hh.repository.models.enums.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxMailRepository extends JpaRepository<OutboxMail, Long> {
+
+//  SKIP LOCKED lets several nodes drain the outbox without handing out the same row twice,
+//  a SENDING row is due again only once the lease of the node that claimed it has run out
+    @Query(value = "SELECT * FROM mail_outbox WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMail> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    void deleteByStatusInAndCreatedAtBefore(Collection<OutboxStatus> statuses, LocalDateTime time);
+}
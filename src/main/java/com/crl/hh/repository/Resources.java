@@ -0,0 +1,21 @@
+package com.crl.hh.repository;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+final class Resources {
+
+    private Resources() {
+    }
+
+    static Path watchablePath(Resource resource) {
+        if (!resource.isFile()) return null;
+        try {
+            return resource.getFile().toPath().toAbsolutePath().normalize();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
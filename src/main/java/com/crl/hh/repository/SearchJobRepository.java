@@ -0,0 +1,70 @@
+package com.crl.hh.repository;
+
+import com.crl.hh.repository.models.SearchJob;
+import com.crl.hh.repository.models.enums.JobStatus;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SearchJobRepository extends JpaRepository<SearchJob, UUID> {
+
+    Optional<SearchJob> findByIdAndOwner(UUID id, String owner);
+
+    @Query("SELECT j.id FROM SearchJob j WHERE j.status IN :statuses AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore) ORDER BY j.createdAt")
+    List<UUID> findClaimable(@Param("statuses") Collection<JobStatus> statuses, @Param("staleBefore") LocalDateTime staleBefore, Limit limit);
+
+    /**
+     * Takes a queued job, or a running one whose node stopped heartbeating. Returns 0 if another node got there first.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SearchJob j SET j.status = com.crl.hh.repository.models.enums.JobStatus.RUNNING, j.heartbeatAt = :now, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status IN (com.crl.hh.repository.models.enums.JobStatus.QUEUED, com.crl.hh.repository.models.enums.JobStatus.RUNNING) " +
+            "AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)")
+    int claim(@Param("id") UUID id, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE SearchJob j SET j.heartbeatAt = :now WHERE j.id IN :ids")
+    void heartbeat(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT j.id FROM SearchJob j WHERE j.id IN :ids AND j.status = com.crl.hh.repository.models.enums.JobStatus.CANCELLED")
+    List<UUID> findCancelled(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE SearchJob j SET j.total = :total, j.updatedAt = :now WHERE j.id = :id")
+    void updateTotal(@Param("id") UUID id, @Param("total") int total, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE SearchJob j SET j.completed = j.completed + :delta, j.updatedAt = :now WHERE j.id = :id")
+    void addCompleted(@Param("id") UUID id, @Param("delta") int delta, @Param("now") LocalDateTime now);
+
+    /**
+     * Moves a running job to {@code status}; a job cancelled in the meantime stays cancelled.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SearchJob j SET j.status = :status, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = com.crl.hh.repository.models.enums.JobStatus.RUNNING")
+    int finish(@Param("id") UUID id, @Param("status") JobStatus status, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE SearchJob j SET j.status = com.crl.hh.repository.models.enums.JobStatus.CANCELLED, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.owner = :owner " +
+            "AND j.status IN (com.crl.hh.repository.models.enums.JobStatus.QUEUED, com.crl.hh.repository.models.enums.JobStatus.RUNNING)")
+    int cancel(@Param("id") UUID id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,15 @@
+package com.crl.hh.repository;
+
+import com.crl.hh.repository.models.SearchJobResult;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SearchJobResultRepository extends JpaRepository<SearchJobResult, Long> {
+
+    List<SearchJobResult> findByJobIdAndIdGreaterThanOrderById(UUID jobId, long after, Limit limit);
+}
@@ -3,8 +3,6 @@ package com.crl.hh.repository;
 import com.crl.hh.repository.models.SiteEntity;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.annotation.PostConstruct;
-import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
@@ -13,9 +11,10 @@ import org.springframework.stereotype.Repository;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collections;
+import java.nio.file.Path;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Repository
 @RequiredArgsConstructor
@@ -27,11 +26,11 @@ public class SiteEntityRepository {
     @Value("${sites.file:classpath:./src/main/resources/static/urlRepository.json}")
     private String sitesFile;
 
-    @Getter
-    private List<SiteEntity> sites = Collections.emptyList();
-
-    @PostConstruct
-    public void init() {
+    /**
+     * Reads, validates and compiles the enabled sites. Throws {@link IllegalStateException} if the file is
+     * missing, unparsable or holds an invalid entry, so a broken edit never replaces a working catalogue.
+     */
+    public List<SiteEntity> load() {
         Resource resource = resourceLoader.getResource(sitesFile);
         if (!resource.exists()) {
             throw new IllegalStateException("Sites file not found: " + sitesFile);
@@ -40,13 +39,28 @@ public class SiteEntityRepository {
         try (InputStream is = resource.getInputStream()) {
             List<SiteEntity> loadedSitesEntity = objectMapper.readValue(is, new TypeReference<>() {});
 
-            this.sites = loadedSitesEntity.stream()
+            List<SiteEntity> sites = loadedSitesEntity.stream()
                     .filter(e -> e.getUrlPattern() != null && !e.getUrlPattern().isBlank())
                     .filter(SiteEntity::isEnabled)
-                    .collect(Collectors.toList());
-        } catch (IOException e) {
+                    .toList();
+
+            Set<String> names = new HashSet<>();
+            for (SiteEntity site : sites) {
+                site.compile();
+                if (!names.add(site.getName())) {
+                    throw new IllegalArgumentException("Duplicate site name: " + site.getName());
+                }
+            }
+            return sites;
+        } catch (IOException | IllegalArgumentException e) {
             throw new IllegalStateException("Failed to load sites file: " + sitesFile, e);
         }
     }
 
+    /**
+     * The sites file on disk, or null when it lives somewhere that cannot be watched (e.g. inside the jar).
+     */
+    public Path watchablePath() {
+        return Resources.watchablePath(resourceLoader.getResource(sitesFile));
+    }
 }
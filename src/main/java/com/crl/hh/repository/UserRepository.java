@@ -1,13 +1,16 @@
 package com.crl.hh.repository;
 
 import com.crl.hh.repository.models.User;
+import com.crl.hh.repository.models.enums.Role;
 import io.lettuce.core.dynamic.annotation.Param;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,10 +21,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsUserByEmail(String email);
     boolean existsUserByUsername(String username);
 
+//  KEYSET PAGE: SEEKS PAST THE LAST SEEN ID ON THE PRIMARY KEY INSTEAD OF COUNTING AN OFFSET
+    @Query("SELECT u FROM User u WHERE u.id > :after " +
+            "AND (:role IS NULL OR u.role = :role) AND (:verified IS NULL OR u.verified = :verified) ORDER BY u.id")
+    List<User> findPageAfter(@Param("after") long after, @Param("role") Role role, @Param("verified") Boolean verified, Limit limit);
+
     @Modifying(clearAutomatically = true)
     @Transactional
-    @Query("UPDATE User u SET u.verified = :v WHERE u.username = :username")
-    void updateVerifiedByUsername(@Param("username") String username, @Param("v") boolean v);
-
-    void deleteUserByUsername(String username);
+    @Query("UPDATE User u SET u.role = :role WHERE u.username = :username")
+    int updateRoleByUsername(@Param("username") String username, @Param("role") Role role);
 }
@@ -1,7 +1,11 @@
 package com.crl.hh.repository;
 
 import com.crl.hh.repository.models.VerifyToken;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -10,8 +14,17 @@ import java.util.Optional;
 @Repository
 public interface VerifyTokenRepository extends JpaRepository<VerifyToken, Long> {
 
-    Optional<VerifyToken> findVerifyTokenByToken(String token);
+    /**
+     * Consumes an unexpired token and marks its user verified in one statement.
+     * Returns the verified username, empty if the token is unknown, expired or already used.
+     */
+    @Transactional
+    @Query(value = "WITH consumed AS (DELETE FROM verifytokens WHERE token = :token AND expiration > :now RETURNING username) " +
+            "UPDATE users SET verified = true FROM consumed WHERE users.username = consumed.username RETURNING users.username", nativeQuery = true)
+    Optional<String> consumeAndVerify(@Param("token") String token, @Param("now") LocalDateTime now);
 
-    void deleteVerifyTokenByToken(String token);
-    void deleteByExpirationBefore(LocalDateTime time);
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM VerifyToken v WHERE v.expiration < :time")
+    int deleteExpired(@Param("time") LocalDateTime time);
 }
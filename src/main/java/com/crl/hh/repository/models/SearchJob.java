@@ -0,0 +1,31 @@
+package com.crl.hh.repository.models;
+
+import com.crl.hh.repository.models.enums.JobStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Table(name = "search_jobs", indexes = @Index(name = "search_jobs_status_heartbeat_idx", columnList = "status, heartbeatAt"))
+@NoArgsConstructor
+public class SearchJob {
+
+    @Id
+    private UUID id;
+    private String owner;
+//  NORMALIZED USERNAMES, ONE PER LINE
+    @Column(columnDefinition = "text")
+    private String usernames;
+    @Enumerated(EnumType.STRING)
+    private JobStatus status;
+    private int total;
+    private int completed;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+//  REFRESHED BY THE NODE RUNNING THE JOB, A STALE VALUE LETS ANOTHER NODE TAKE IT OVER
+    private LocalDateTime heartbeatAt;
+}
@@ -0,0 +1,30 @@
+package com.crl.hh.repository.models;
+
+import com.crl.hh.repository.models.enums.SiteStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Table(name = "search_job_results",
+        uniqueConstraints = @UniqueConstraint(name = "search_job_results_pair_key", columnNames = {"jobId", "username", "site"}),
+        indexes = @Index(name = "search_job_results_page_idx", columnList = "jobId, id"))
+@NoArgsConstructor
+public class SearchJobResult {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private UUID jobId;
+    private String username;
+    private String site;
+    private String url;
+    @Enumerated(EnumType.STRING)
+    private SiteStatus status;
+    private Long latencyMs;
+    private LocalDateTime checkedAt;
+}
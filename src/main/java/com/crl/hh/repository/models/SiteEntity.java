@@ -1,17 +1,110 @@
 package com.crl.hh.repository.models;
 
+import com.crl.hh.matcher.IndicatorMatcher;
+import com.crl.hh.repository.models.enums.CheckStrategy;
+import com.crl.hh.repository.models.enums.DetectionStage;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
 
 @Data
 @RequiredArgsConstructor
 public class SiteEntity {
 
+    private static final String PLACEHOLDER = "%s";
+
     private String name;
     private String urlPattern;
     @Enumerated(EnumType.STRING)
     private String elementSelector;
     private boolean enabled = true;
+    private DetectionStage detectionStage = DetectionStage.BROWSER;
+    private CheckStrategy checkStrategy = CheckStrategy.GENERIC;
+//  ELEMENT THE BROWSER CHECK WAITS FOR BEFORE READING THE PAGE, STRATEGY DEFAULT WHEN EMPTY
+    private String waitSelector;
+//  REPLACES THE SHARED NOT-FOUND INDICATORS FOR THIS SITE WHEN PRESENT
+    private List<String> notFoundIndicators;
+//  BYTES OF BODY THE HTTP STAGE READS BEFORE GIVING UP, osint.http.scan.max-bytes WHEN EMPTY
+    private Integer maxBodyBytes;
+//  EXTRA URL PATTERNS THE BROWSER MUST NOT FETCH FOR THIS SITE, AND GLOBAL ONES IT STILL NEEDS
+    private List<String> blockUrls;
+    private List<String> allowUrls;
+
+    @JsonIgnore
+    @ToString.Exclude
+    private String urlPrefix;
+    @JsonIgnore
+    @ToString.Exclude
+    private String urlSuffix;
+    @JsonIgnore
+    @ToString.Exclude
+    private IndicatorMatcher notFoundMatcher;
+//  CHANGES WITH ANYTHING THAT CAN CHANGE A VERDICT, SO CACHED VERDICTS OF AN EDITED DEFINITION ARE NOT REUSED
+    @JsonIgnore
+    @ToString.Exclude
+    private String definitionHash;
+
+    /**
+     * Validates the entry and splits {@code urlPattern} around its single {@code %s}, so {@link #url(String)}
+     * is a plain concatenation. Called once while building a catalogue snapshot.
+     */
+    public void compile() {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Site without a name: " + urlPattern);
+        }
+        int placeholder = urlPattern == null ? -1 : urlPattern.indexOf(PLACEHOLDER);
+        if (placeholder < 0 || urlPattern.indexOf('%', placeholder + PLACEHOLDER.length()) >= 0
+                || urlPattern.lastIndexOf('%', placeholder - 1) >= 0) {
+            throw new IllegalArgumentException("urlPattern of " + name + " must contain exactly one %s: " + urlPattern);
+        }
+
+        urlPrefix = urlPattern.substring(0, placeholder);
+        urlSuffix = urlPattern.substring(placeholder + PLACEHOLDER.length());
+        elementSelector = elementSelector == null ? "" : elementSelector.trim();
+        if (detectionStage == null) detectionStage = DetectionStage.BROWSER;
+        if (checkStrategy == null) checkStrategy = CheckStrategy.GENERIC;
+        if (checkStrategy == CheckStrategy.PROFILE_ELEMENT && elementSelector.isEmpty()) {
+            throw new IllegalArgumentException("Site " + name + " uses " + checkStrategy + " without an elementSelector");
+        }
+        if (maxBodyBytes != null && maxBodyBytes <= 0) {
+            throw new IllegalArgumentException("maxBodyBytes of " + name + " must be positive: " + maxBodyBytes);
+        }
+        waitSelector = waitSelector == null || waitSelector.isBlank() ? null : waitSelector.trim();
+        notFoundMatcher = notFoundIndicators == null || notFoundIndicators.isEmpty() ? null : IndicatorMatcher.compile(notFoundIndicators);
+    }
+
+    /**
+     * Hashes the compiled definition together with the effective not-found indicators into {@code definitionHash}.
+     */
+    public void fingerprint(IndicatorMatcher shared) {
+        String definition = String.join("\u0000", name, urlPattern, elementSelector, String.valueOf(detectionStage),
+                String.valueOf(checkStrategy), String.valueOf(waitSelector), String.valueOf(maxBodyBytes),
+                String.valueOf(blockUrls), String.valueOf(allowUrls), String.valueOf(notFoundMatcher(shared).getIndicators()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(definition.getBytes(StandardCharsets.UTF_8));
+            definitionHash = HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    /**
+     * This site's own not-found matcher, or {@code shared} if it has none.
+     */
+    public IndicatorMatcher notFoundMatcher(IndicatorMatcher shared) {
+        return notFoundMatcher != null ? notFoundMatcher : shared;
+    }
+
+    public String url(String username) {
+        return urlPrefix + username + urlSuffix;
+    }
 }
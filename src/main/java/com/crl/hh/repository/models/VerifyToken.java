@@ -8,13 +8,18 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "verifytokens")
+@Table(name = "verifytokens", indexes = {
+        @Index(name = "verifytokens_token_idx", columnList = "token", unique = true),
+        @Index(name = "verifytokens_expiration_idx", columnList = "expiration")
+})
 @RequiredArgsConstructor
 public class VerifyToken {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+//  SHA-256 digest of the token sent by mail, never the token itself
+    @Column(nullable = false, length = 64)
     private String token;
     private String username;
     private LocalDateTime expiration;
@@ -0,0 +1,15 @@
+package com.crl.hh.repository.models.dto;
+
+import com.crl.hh.repository.models.enums.JobStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A search job as seen by its owner. {@code results} holds verdicts persisted after the requested cursor;
+ * pass {@code resultsCursor} back as {@code after} to fetch only what arrived since.
+ */
+public record SearchJobView(UUID id, JobStatus status, int total, int completed,
+                            LocalDateTime createdAt, LocalDateTime updatedAt, List<SiteResult> results, Long resultsCursor) {
+}
@@ -0,0 +1,10 @@
+package com.crl.hh.repository.models.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of one username search. {@code complete} is false when the deadline cut the search short;
+ * the sites still running at that point are reported as TIMEOUT.
+ */
+public record SearchReport(String username, boolean complete, long elapsedMs, List<String> found, List<SiteResult> sites) {
+}
@@ -0,0 +1,4 @@
+package com.crl.hh.repository.models.dto;
+
+public record SearchSummary(String username, int total, int found, long elapsedMs) {
+}
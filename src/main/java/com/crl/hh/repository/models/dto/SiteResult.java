@@ -0,0 +1,6 @@
+package com.crl.hh.repository.models.dto;
+
+import com.crl.hh.repository.models.enums.SiteStatus;
+
+public record SiteResult(String username, String site, String url, SiteStatus status, long latencyMs) {
+}
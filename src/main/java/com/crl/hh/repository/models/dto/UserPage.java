@@ -0,0 +1,11 @@
+package com.crl.hh.repository.models.dto;
+
+import com.crl.hh.repository.models.User;
+
+import java.util.List;
+
+/**
+ * One keyset page of users. Pass {@code nextCursor} as {@code after} to get the next page; it is null on the last one.
+ */
+public record UserPage(List<User> users, Long nextCursor) {
+}
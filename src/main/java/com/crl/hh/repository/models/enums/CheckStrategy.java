@@ -0,0 +1,7 @@
+package com.crl.hh.repository.models.enums;
+
+public enum CheckStrategy {
+    GENERIC,
+    USERNAME_ECHO,
+    PROFILE_ELEMENT
+}
@@ -0,0 +1,7 @@
+package com.crl.hh.repository.models.enums;
+
+public enum DetectionStage {
+    STATUS,
+    BODY,
+    BROWSER
+}
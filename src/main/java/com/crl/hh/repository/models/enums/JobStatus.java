@@ -0,0 +1,8 @@
+package com.crl.hh.repository.models.enums;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    CANCELLED
+}
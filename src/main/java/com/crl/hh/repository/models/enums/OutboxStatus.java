@@ -0,0 +1,8 @@
+package com.crl.hh.repository.models.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,10 @@
+package com.crl.hh.repository.models.enums;
+
+public enum SiteStatus {
+    FOUND,
+    ABSENT,
+    TIMEOUT,
+    ERROR,
+    SKIPPED,
+    UNKNOWN
+}
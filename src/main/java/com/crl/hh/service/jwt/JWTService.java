@@ -1,19 +1,31 @@
 package com.crl.hh.service.jwt;
 
 import com.crl.hh.repository.UserRepository;
+import com.crl.hh.repository.models.MyUserDetails;
 import com.crl.hh.repository.models.User;
 import com.crl.hh.repository.models.enums.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -27,8 +39,42 @@ public class JWTService {
     @Value("${security.jwt.expiration-time}")
     private long expirationTime;
 
-    private SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    @Value("${security.jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        jwtParser = Jwts
+                .parser()
+                .verifyWith(signingKey)
+                .build();
+
+//      Each verified token is kept until its own exp, so a cache hit can never outlive the token
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String generateToken(String username) {
@@ -41,32 +87,74 @@ public class JWTService {
                     .claim("role", optionalUser.get().getRole())
                     .issuedAt(new Date())
                     .expiration(new Date((new Date().getTime() + expirationTime)))
-                    .signWith(getSecretKey())
+                    .signWith(signingKey)
                     .compact();
         }
 
         return "User with name: " + username + " not found";
     }
 
-    private Claims getAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verified claims of {@code token}, or {@code null} when the signature is invalid or the token has expired.
+     * The signature is checked once per distinct token; repeat calls are served from a cache keyed by token digest.
+     */
+    public Claims verify(String token) {
+        String digest = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(digest);
+        if (claims != null) {
+            return claims.getExpiration().after(new Date()) ? claims : null;
+        }
+
+        try {
+            claims = jwtParser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+
+        if (claims.getExpiration() == null) return null;
+        verifiedTokens.put(digest, claims);
+        return claims;
     }
 
     public String extractUsername(String token) {
-        return getAllClaims(token).getSubject();
+        Claims claims = verify(token);
+        return claims == null ? null : claims.getSubject();
     }
 
-    public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
+    /**
+     * Principal built from the token alone, for stateless mode: no database lookup, so role changes and
+     * deletions only take effect once the token expires. {@code null} when the role claim is missing or unknown.
+     */
+    public UserDetails userDetailsFromClaims(Claims claims) {
+        String roleName = claims.get("role", String.class);
+        if (roleName == null) return null;
+
+        Role role;
+        try {
+            role = Role.valueOf(roleName);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return new MyUserDetails(new User(null, claims.getSubject(), null, null, role, true));
+    }
 
-        final Date expiration = getAllClaims(token).getExpiration();
-        boolean notExpired = expiration.after(new Date());
+    public boolean validateClaims(Claims claims, UserDetails userDetails) {
+        return claims != null
+                && userDetails != null
+                && claims.getSubject().equals(userDetails.getUsername())
+                && claims.getExpiration().after(new Date());
+    }
 
-        return (username.equals(userDetails.getUsername()) && notExpired);
+    public boolean validateToken(String token, UserDetails userDetails) {
+        return validateClaims(verify(token), userDetails);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
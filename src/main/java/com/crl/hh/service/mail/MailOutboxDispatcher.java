@@ -0,0 +1,171 @@
+package com.crl.hh.service.mail;
+
+import com.crl.hh.repository.OutboxMailRepository;
+import com.crl.hh.repository.models.OutboxMail;
+import com.crl.hh.repository.models.enums.OutboxStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the mail outbox in batches. A batch is claimed in a short transaction that marks it
+ * {@link OutboxStatus#SENDING} for {@code mail.outbox.lease-ms}, then goes out over a single SMTP
+ * connection with no transaction or row lock held; outcomes are written back afterwards. Failed
+ * messages are retried with exponential backoff until {@code mail.outbox.max-attempts}, and a batch
+ * whose node died mid-send is claimed again once its lease runs out. Bodies can carry verification links,
+ * so they are cleared as soon as a message is sent or given up on.
+ */
+@Component
+@RequiredArgsConstructor
+public class MailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final OutboxMailRepository outboxMailRepository;
+    private final JavaMailSender javaMailSender;
+    private final MailService mailService;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.backoff.initial-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${mail.outbox.backoff.max-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${mail.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${mail.outbox.lease-ms:600000}")
+    private long leaseMs;
+
+    private TransactionTemplate transaction;
+
+    private Counter sent;
+    private Counter retried;
+    private Counter failed;
+
+    @PostConstruct
+    public void init() {
+        transaction = new TransactionTemplate(transactionManager);
+        sent = outcomeCounter("sent");
+        retried = outcomeCounter("retried");
+        failed = outcomeCounter("failed");
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        List<OutboxMail> batch = transaction.execute(status -> claim());
+        if (batch == null || batch.isEmpty()) return;
+
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxMail mail = batch.get(i);
+            messages[i] = mailService.message(mail.getRecipient(), mail.getSubject(), mail.getBody());
+        }
+
+//      JavaMailSenderImpl opens one transport for the whole array and reports per-message failures
+        Map<Object, Exception> failures = Map.of();
+        Exception batchFailure = null;
+        try {
+            javaMailSender.send(messages);
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) batchFailure = e;
+        } catch (MailException e) {
+            batchFailure = e;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Exception failure = batchFailure != null ? batchFailure : failures.get(messages[i]);
+            if (failure == null) {
+                markSent(batch.get(i));
+            } else {
+                markFailed(batch.get(i), failure);
+            }
+        }
+        transaction.executeWithoutResult(status -> outboxMailRepository.saveAll(batch));
+    }
+
+    @Transactional
+    @Scheduled(fixedRateString = "${mail.outbox.purge-rate-ms:3600000}")
+    public void purgeFinished() {
+        outboxMailRepository.deleteByStatusInAndCreatedAtBefore(List.of(OutboxStatus.SENT, OutboxStatus.FAILED), LocalDateTime.now().minusHours(retentionHours));
+    }
+
+//  SKIP LOCKED ONLY GUARDS THE CLAIM ITSELF, THE LEASE KEEPS OTHER NODES AWAY WHILE THE BATCH IS SENT
+    private List<OutboxMail> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMail> batch = outboxMailRepository.lockDue(now, batchSize);
+        LocalDateTime leaseUntil = now.plusNanos(leaseMs * 1_000_000);
+        for (OutboxMail mail : batch) {
+            mail.setStatus(OutboxStatus.SENDING);
+            mail.setNextAttemptAt(leaseUntil);
+        }
+        return outboxMailRepository.saveAll(batch);
+    }
+
+    private void markSent(OutboxMail mail) {
+        mail.setStatus(OutboxStatus.SENT);
+        mail.setAttempts(mail.getAttempts() + 1);
+        mail.setLastError(null);
+        mail.setBody(null);
+        sent.increment();
+    }
+
+    private void markFailed(OutboxMail mail, Exception failure) {
+        int attempts = mail.getAttempts() + 1;
+        mail.setAttempts(attempts);
+        mail.setLastError(truncate(failure.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            logger.error("Giving up on mail {} to {} after {} attempts: {}", mail.getId(), mail.getRecipient(), attempts, failure.getMessage());
+            mail.setStatus(OutboxStatus.FAILED);
+            mail.setBody(null);
+            failed.increment();
+            return;
+        }
+
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+        mail.setStatus(OutboxStatus.PENDING);
+        mail.setNextAttemptAt(LocalDateTime.now().plusNanos(backoff * 1_000_000));
+        logger.warn("Mail {} failed (attempt {}), retrying in {} ms: {}", mail.getId(), attempts, backoff, failure.getMessage());
+        retried.increment();
+    }
+
+    private Counter outcomeCounter(String outcome) {
+        return Counter.builder("mail.outbox.dispatched")
+                .description("Outbox mails by dispatch outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) return message;
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -1,26 +1,35 @@
 package com.crl.hh.service.mail;
 
+import com.crl.hh.repository.OutboxMailRepository;
+import com.crl.hh.repository.models.OutboxMail;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class MailService {
 
-    private final JavaMailSender javaMailSender;
+    private final OutboxMailRepository outboxMailRepository;
 
     @Value("${spring.mail.username}")
     private String mailFrom;
 
-    public void sendMail(String to, String subject, String text) {
+    /**
+     * Stores the mail in the outbox as part of the caller's transaction; {@link MailOutboxDispatcher} delivers it
+     * once that transaction has committed.
+     */
+    public void enqueueMail(String to, String subject, String text) {
+        outboxMailRepository.save(new OutboxMail(to, subject, text));
+    }
+
+    SimpleMailMessage message(String to, String subject, String text) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setFrom(mailFrom);
         message.setText(text);
         message.setSubject(subject);
         message.setTo(to);
-        javaMailSender.send(message);
+        return message;
     }
 }
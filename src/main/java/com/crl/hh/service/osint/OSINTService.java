@@ -1,184 +1,575 @@
 package com.crl.hh.service.osint;
 
-import com.crl.hh.repository.NotFoundIndicatorsRepository;
-import com.crl.hh.repository.SiteEntityRepository;
+import com.crl.hh.matcher.IndicatorMatcher;
 import com.crl.hh.repository.models.SiteEntity;
+import com.crl.hh.repository.models.dto.SearchReport;
+import com.crl.hh.repository.models.dto.SearchSummary;
+import com.crl.hh.repository.models.dto.SiteResult;
+import com.crl.hh.repository.models.enums.DetectionStage;
+import com.crl.hh.repository.models.enums.SiteStatus;
+import com.crl.hh.service.osint.cache.SearchResultCache;
+import com.crl.hh.service.osint.catalogue.CatalogueSnapshot;
+import com.crl.hh.service.osint.catalogue.SiteCatalogue;
+import com.crl.hh.service.osint.dispatch.RedisCheckDispatcher;
+import com.crl.hh.service.osint.driver.PageReadiness;
+import com.crl.hh.service.osint.driver.WebDriverPool;
+import com.crl.hh.service.osint.health.SiteHealthRegistry;
+import com.crl.hh.service.osint.http.BodyScan;
+import com.crl.hh.service.osint.http.BodyScanSubscriber;
+import com.crl.hh.service.osint.http.ConditionalRequestCache;
+import com.crl.hh.service.osint.http.HostConcurrencyLimiter;
+import com.crl.hh.service.osint.http.HttpProbeClient;
+import com.crl.hh.service.osint.http.StatusProbe;
+import com.crl.hh.service.osint.metrics.OsintMetrics;
+import com.crl.hh.service.osint.strategy.BrowserCheck;
+import com.crl.hh.service.osint.strategy.SiteCheckStrategies;
+import com.crl.hh.service.osint.strategy.SiteCheckStrategy;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 
 @Service
 public class OSINTService {
 
     private static final Logger logger = LoggerFactory.getLogger(OSINTService.class);
-
-    private final SiteEntityRepository siteEntityRepository;
-    private final NotFoundIndicatorsRepository notFoundIndicatorsRepository;
-    private final HttpClient httpClient;
+    private static final SiteResult END_OF_RESULTS = new SiteResult(null, null, null, null, 0);
+
+    private final SiteCatalogue siteCatalogue;
+    private final WebDriverPool webDriverPool;
+    private final SiteCheckStrategies siteCheckStrategies;
+    private final RedisCheckDispatcher checkDispatcher;
+    private final SearchResultCache searchResultCache;
+    private final HttpProbeClient httpProbeClient;
+    private final HostConcurrencyLimiter hostConcurrencyLimiter;
+    private final SiteHealthRegistry siteHealthRegistry;
+    private final OsintMetrics osintMetrics;
+    private final ObjectMapper objectMapper;
     private ExecutorService executorService;
-    private ChromeOptions chromeOptions;
+    private PageReadiness.Settle readinessSettle;
+
+    @Value("${osint.executor.mode:platform}")
+    private String executorMode;
+
+    @Value("${osint.executor.threads:8}")
+    private int executorThreads;
+
+    @Value("${osint.http.scan.max-bytes:1048576}")
+    private long scanMaxBytes;
+
+    @Value("${osint.http.scan.found-margin-chars:4096}")
+    private int scanFoundMarginChars;
+
+    @Value("${osint.driver.readiness.quiet-ms:500}")
+    private long readinessQuietMs;
+
+    @Value("${osint.driver.readiness.request-cap-ms:3000}")
+    private long readinessRequestCapMs;
+
+    @Value("${osint.driver.readiness.max-settle-ms:8000}")
+    private long readinessMaxSettleMs;
 
-    public OSINTService(SiteEntityRepository siteEntityRepository, NotFoundIndicatorsRepository notFoundIndicatorsRepository) {
-        this.siteEntityRepository = siteEntityRepository;
-        this.notFoundIndicatorsRepository = notFoundIndicatorsRepository;
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(5))
-                .followRedirects(HttpClient.Redirect.NORMAL)
-                .build();
+    @Value("${osint.driver.verdict.in-page:true}")
+    private boolean inPageVerdict;
+
+    @Value("${osint.search.deadline-ms:30000}")
+    private long searchDeadlineMs;
+
+    @Value("${osint.search.max-deadline-ms:120000}")
+    private long searchMaxDeadlineMs;
+
+    @Value("${osint.stream.timeout-ms:120000}")
+    private long streamTimeoutMs;
+
+    @Value("${osint.batch.max-usernames:1000}")
+    private int batchMaxUsernames;
+
+    @Value("${osint.batch.concurrency:32}")
+    private int batchConcurrency;
+
+    public OSINTService(SiteCatalogue siteCatalogue, WebDriverPool webDriverPool, SiteCheckStrategies siteCheckStrategies, RedisCheckDispatcher checkDispatcher, SearchResultCache searchResultCache, HttpProbeClient httpProbeClient, HostConcurrencyLimiter hostConcurrencyLimiter, SiteHealthRegistry siteHealthRegistry, OsintMetrics osintMetrics, ObjectMapper objectMapper) {
+        this.siteCatalogue = siteCatalogue;
+        this.webDriverPool = webDriverPool;
+        this.siteCheckStrategies = siteCheckStrategies;
+        this.checkDispatcher = checkDispatcher;
+        this.searchResultCache = searchResultCache;
+        this.httpProbeClient = httpProbeClient;
+        this.hostConcurrencyLimiter = hostConcurrencyLimiter;
+        this.siteHealthRegistry = siteHealthRegistry;
+        this.osintMetrics = osintMetrics;
+        this.objectMapper = objectMapper;
     }
 
     @PostConstruct
     public void init() {
-        chromeOptions = new ChromeOptions();
-        chromeOptions.addArguments("--headless=new", "--disable-gpu", "--blink-settings=imagesEnabled=false");
-        chromeOptions.addArguments("--user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-        chromeOptions.addArguments("--remote-allow-origins=*");
+        readinessSettle = new PageReadiness.Settle(readinessQuietMs, readinessRequestCapMs, readinessMaxSettleMs);
+        executorService = "virtual".equalsIgnoreCase(executorMode)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(executorThreads);
+    }
 
-        executorService = Executors.newFixedThreadPool(8);
+    /**
+     * Checks every catalogue site, waiting at most {@code deadlineMs} ({@code osint.search.deadline-ms} when null,
+     * capped at {@code osint.search.max-deadline-ms}). Checks still running at the deadline are cancelled, which
+     * releases their browser sessions, and reported as TIMEOUT. A blank username yields an empty report.
+     */
+    public SearchReport searchByUsername(String username, Long deadlineMs) {
+        if (username.isBlank()) {
+            logger.error("Missing username");
+            return new SearchReport(username, true, 0, List.of(), List.of());
+        }
+
+        long budgetMs = deadlineMs == null ? searchDeadlineMs : Math.max(1, Math.min(deadlineMs, searchMaxDeadlineMs));
+        long startedAt = System.nanoTime();
+        osintMetrics.searchStarted();
+        try {
+            CatalogueSnapshot catalogue = siteCatalogue.current();
+            List<CompletableFuture<SiteResult>> futures = submitSearch(catalogue, username);
+            if (!futures.stream().allMatch(CompletableFuture::isDone)) {
+                CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                        .completeOnTimeout(null, budgetMs, TimeUnit.MILLISECONDS)
+                        .join();
+            }
+
+            boolean complete = true;
+            List<SiteResult> sites = new ArrayList<>(futures.size());
+            for (int i = 0; i < futures.size(); i++) {
+                CompletableFuture<SiteResult> future = futures.get(i);
+                if (future.cancel(true) || future.isCompletedExceptionally()) {
+                    complete = false;
+                    SiteEntity site = catalogue.sites().get(i);
+                    osintMetrics.recordVerdict(site.getName(), SiteStatus.TIMEOUT);
+                    sites.add(new SiteResult(username, site.getName(), site.url(username), SiteStatus.TIMEOUT, elapsedMs(startedAt)));
+                } else {
+                    sites.add(future.join());
+                }
+            }
+
+            List<String> found = sites.stream()
+                    .filter(result -> result.status() == SiteStatus.FOUND)
+                    .map(SiteResult::url)
+                    .toList();
+            return new SearchReport(username, complete, elapsedMs(startedAt), found, sites);
+        } finally {
+            osintMetrics.searchFinished();
+        }
     }
 
-    public List<String> searchByUsername(String username) {
+    public SseEmitter streamByUsername(String username) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
         if (username.isBlank()) {
             logger.error("Missing username");
-            return null;
+            emitter.complete();
+            return emitter;
         }
 
-        List<SiteEntity> sites = siteEntityRepository.getSites();
-        List<String> notFoundIndicatorsLower = Optional.ofNullable(notFoundIndicatorsRepository.getNotFoundIndicators())
-                .orElse(List.of())
-                .stream()
-                .map(s -> s.toLowerCase(Locale.ROOT).trim())
-                .toList();
+        long startedAt = System.currentTimeMillis();
+        osintMetrics.searchStarted();
+        List<CompletableFuture<SiteResult>> futures = submitSearch(siteCatalogue.current(), username);
+        Runnable cancelAll = () -> futures.forEach(future -> future.cancel(true));
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .whenComplete((r, e) -> osintMetrics.searchFinished());
 
-        List<CompletableFuture<String>> futures = sites.stream()
-                .map(site -> CompletableFuture.supplyAsync(() -> {
-                    try {
-                        return checkSite(site, username, notFoundIndicatorsLower);
-                    } catch (Exception e) {
-                        return null;
-                    }
-                }, executorService))
-                .toList();
+        emitter.onCompletion(cancelAll);
+        emitter.onTimeout(cancelAll);
+        emitter.onError(e -> cancelAll.run());
 
-        return futures.stream()
-                .map(CompletableFuture::join)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        futures.forEach(future -> future.thenAccept(result -> {
+            try {
+                emitter.send(SseEmitter.event().name("site").data(result));
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Client went away while streaming {}: {}", username, e.getMessage());
+                cancelAll.run();
+            }
+        }));
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenRun(() -> {
+            int found = (int) futures.stream()
+                    .filter(future -> future.join().status() == SiteStatus.FOUND)
+                    .count();
+            try {
+                emitter.send(SseEmitter.event().name("summary")
+                        .data(new SearchSummary(username, futures.size(), found, System.currentTimeMillis() - startedAt)));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Client went away before summary for {}: {}", username, e.getMessage());
+            }
+        });
+
+        return emitter;
     }
 
-    private String checkSite(SiteEntity site, String username, List<String> notFoundIndicatorsLower) {
-        String url = String.format(site.getUrlPattern(), username);
-        WebDriver driver = null;
+    /**
+     * Streams one NDJSON line per (username, site) pair as soon as it is decided. Usernames are normalized and
+     * deduplicated; every pair is scheduled as a single workload against one catalogue snapshot, site by site
+     * within each username so consecutive tasks hit different hosts.
+     */
+    public void searchBatch(List<String> usernames, OutputStream out) throws IOException {
+        List<String> normalized = normalizeUsernames(usernames, batchMaxUsernames);
 
-//      STATUS CODE CHECK
-        Integer statusCode = getStatusCode(url);
-        if (statusCode != null && (statusCode == 404 || statusCode == 410)) return null;
+        BlockingQueue<SiteResult> results = new LinkedBlockingQueue<>();
+        osintMetrics.searchStarted();
+        CompletableFuture<Void> done = checkAll(normalized, (username, site) -> false, results::add);
+        done.whenComplete((r, e) -> results.add(END_OF_RESULTS));
 
         try {
-            driver = new ChromeDriver(chromeOptions);
-            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(15));
-            WebDriverWait webDriverWait = new WebDriverWait(driver, Duration.ofSeconds(15));
-
-            driver.get(url);
+            SiteResult result;
+            while ((result = results.take()) != END_OF_RESULTS) {
+                out.write(objectMapper.writeValueAsBytes(result));
+                out.write('\n');
+                if (results.isEmpty()) out.flush();
+            }
+            out.flush();
+        } catch (IOException | InterruptedException e) {
+            logger.debug("Batch search aborted: {}", e.getMessage());
+            done.cancel(true);
+            if (e instanceof IOException ioe) throw ioe;
+            Thread.currentThread().interrupt();
+        } finally {
+            osintMetrics.searchFinished();
+        }
+    }
 
-//          URL CHECK
-            String currentUrl = Optional.ofNullable(driver.getCurrentUrl()).orElse("").toLowerCase(Locale.ROOT);
-            if (!currentUrl.equals(url.toLowerCase(Locale.ROOT)) && !currentUrl.contains(username.toLowerCase(Locale.ROOT))) return null;
+    /**
+     * Trimmed, lower-cased, deduplicated usernames in request order, at most {@code limit} of them.
+     */
+    public static List<String> normalizeUsernames(List<String> usernames, int limit) {
+        return usernames.stream()
+                .filter(Objects::nonNull)
+                .map(SearchResultCache::normalize)
+                .filter(username -> !username.isEmpty())
+                .distinct()
+                .limit(limit)
+                .toList();
+    }
 
+    /**
+     * Checks every (username, site) pair of the current catalogue that {@code skip} does not reject and hands each
+     * verdict to {@code sink} as soon as it is decided, with at most {@code osint.batch.concurrency} checks in flight.
+     * The returned future completes after the last verdict has been delivered; cancelling it stops dispatching and
+     * cancels the checks in flight.
+     */
+    public CompletableFuture<Void> checkAll(List<String> usernames, BiPredicate<String, SiteEntity> skip, Consumer<SiteResult> sink) {
+        CatalogueSnapshot catalogue = siteCatalogue.current();
+        List<SiteEntity> sites = catalogue.sites();
+        IndicatorMatcher notFoundMatcher = catalogue.notFoundMatcher();
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Set<CompletableFuture<SiteResult>> pending = ConcurrentHashMap.newKeySet();
+        Semaphore inFlight = new Semaphore(batchConcurrency);
+
+        Thread dispatcher = Thread.ofVirtual().name("osint-batch-dispatcher").start(() -> {
+            int scheduled = 0;
             try {
-//              CUSTOM CHECK FOR INSTAGRAM
-                if (site.getName().equals("Instagram")) {
-                    webDriverWait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("span")));
-
-                    String instagram = driver.findElement(By.tagName("span")).getText().toLowerCase(Locale.ROOT);
-                    if (notFoundIndicatorsLower.stream().anyMatch(instagram::contains)) return null;
+                for (String username : usernames) {
+                    Map<String, SiteStatus> cached = searchResultCache.getAll(username, sites);
+                    for (SiteEntity site : sites) {
+                        if (skip.test(username, site)) continue;
+
+                        inFlight.acquire();
+                        CompletableFuture<SiteResult> future = submitCheck(site, username, notFoundMatcher, cached.get(site.getName()));
+                        scheduled++;
+                        pending.add(future);
+                        future.whenComplete((result, e) -> {
+                            try {
+                                if (result != null) sink.accept(result);
+                            } catch (RuntimeException sinkError) {
+                                logger.warn("Result sink failed for {}: {}", result.url(), sinkError.getMessage());
+                            } finally {
+                                pending.remove(future);
+                                inFlight.release();
+                            }
+                        });
+                    }
                 }
+//              ALL PERMITS BACK MEANS EVERY VERDICT HAS BEEN DELIVERED
+                inFlight.acquire(batchConcurrency);
+                done.complete(null);
+            } catch (InterruptedException e) {
+                done.cancel(false);
+            } catch (RuntimeException e) {
+                logger.error("Batch dispatch stopped after {} tasks: {}", scheduled, e.getMessage());
+                done.completeExceptionally(e);
+            }
+        });
+
+        done.whenComplete((r, e) -> {
+            if (!done.isCancelled()) return;
+            dispatcher.interrupt();
+            pending.forEach(future -> future.cancel(true));
+        });
+        return done;
+    }
 
-//              CUSTOM CHECK FOR TWITCH
-                if (site.getName().equals("Twitch")) {
-                    webDriverWait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("p")));
+    /**
+     * One future per catalogue site, in catalogue order. Cached verdicts complete immediately;
+     * cancelling a pending future interrupts its check and releases the browser session it holds.
+     */
+    private List<CompletableFuture<SiteResult>> submitSearch(CatalogueSnapshot catalogue, String username) {
+        List<SiteEntity> sites = catalogue.sites();
+        IndicatorMatcher notFoundMatcher = catalogue.notFoundMatcher();
+        Map<String, SiteStatus> cached = searchResultCache.getAll(username, sites);
+
+        return sites.stream()
+                .map(site -> submitCheck(site, username, notFoundMatcher, cached.get(site.getName())))
+                .toList();
+    }
 
-                    String twitch = driver.findElement(By.tagName("body")).getText().toLowerCase(Locale.ROOT);
-                    if (!twitch.contains(username.toLowerCase(Locale.ROOT))) return null;
-                }
+    private CompletableFuture<SiteResult> submitCheck(SiteEntity site, String username, IndicatorMatcher notFoundMatcher, SiteStatus cachedStatus) {
+        String url = site.url(username);
+        long submittedAt = System.nanoTime();
+        if (cachedStatus != null) {
+            return CompletableFuture.completedFuture(new SiteResult(username, site.getName(), url, cachedStatus, elapsedMs(submittedAt)));
+        }
 
-//              HAS NOT FOUND INDICATORS CHECK
-                webDriverWait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("div")));
+        if (checkDispatcher.isEnabled()) {
+            return dispatchRemote(site, username, url, submittedAt);
+        }
 
-                String body = driver.findElement(By.tagName("body")).getText().toLowerCase(Locale.ROOT);
-                if (notFoundIndicatorsLower.stream().anyMatch(body::contains)) return null;
+        CompletableFuture<SiteResult> result = new CompletableFuture<>();
+        AtomicBoolean dequeued = new AtomicBoolean();
+        osintMetrics.checkQueued();
+        Future<?> task = executorService.submit(() -> {
+            if (dequeued.compareAndSet(false, true)) osintMetrics.checkStarted();
 
-            } catch (TimeoutException te) {
-                logger.debug("Element not found within timeout for --. {}", site.getName());
+            SiteStatus status;
+            try {
+                status = checkSite(site, username, notFoundMatcher);
+                searchResultCache.put(username, site, status);
+            } catch (Exception e) {
+                logger.debug("Check failed for {}: {}", url, e.getMessage());
+                status = SiteStatus.ERROR;
             }
+            osintMetrics.recordVerdict(site.getName(), status);
+            result.complete(new SiteResult(username, site.getName(), url, status, elapsedMs(submittedAt)));
+        });
+        result.whenComplete((r, e) -> {
+            if (!result.isCancelled()) return;
+            task.cancel(true);
+            if (dequeued.compareAndSet(false, true)) osintMetrics.checkStarted();
+        });
+        return result;
+    }
 
-//          ELEMENT CHECK
-            String selector = Optional.ofNullable(site.getElementSelector()).orElse("").trim();
-            if(!selector.isBlank()) {
-                try {
-                    webDriverWait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(selector)));
-                    WebElement element = driver.findElement(By.cssSelector(selector));
-                    if (element.isEnabled()) {
-                        return url;
-                    }
+    /**
+     * Same contract as the local path, but the check runs on whichever worker node takes it off the stream.
+     */
+    private CompletableFuture<SiteResult> dispatchRemote(SiteEntity site, String username, String url, long submittedAt) {
+        CompletableFuture<SiteStatus> reply = checkDispatcher.dispatch(site, username);
+        CompletableFuture<SiteResult> result = reply.handle((status, e) -> {
+            if (e != null) {
+                logger.debug("Remote check failed for {}: {}", url, e.getMessage());
+                status = e instanceof java.util.concurrent.TimeoutException ? SiteStatus.TIMEOUT : SiteStatus.ERROR;
+            } else {
+                searchResultCache.put(username, site, status);
+            }
+            osintMetrics.recordVerdict(site.getName(), status);
+            return new SiteResult(username, site.getName(), url, status, elapsedMs(submittedAt));
+        });
+        result.whenComplete((r, e) -> {
+            if (result.isCancelled()) reply.cancel(true);
+        });
+        return result;
+    }
+
+    private static long elapsedMs(long startedAt) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    private SiteStatus checkSite(SiteEntity site, String username, IndicatorMatcher notFoundMatcher) {
+        return runStages(site, username, notFoundMatcher, true, true);
+    }
+
+    /**
+     * Runs one check on this node for a stream worker, against the current catalogue. Without {@code browserStage}
+     * a check the HTTP stages could not decide returns null, so the caller can hand it on to a browser worker.
+     */
+    public SiteStatus checkForWorker(String siteName, String username, boolean httpStages, boolean browserStage) {
+        CatalogueSnapshot catalogue = siteCatalogue.current();
+        SiteEntity site = catalogue.sites().stream()
+                .filter(candidate -> candidate.getName().equals(siteName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown site " + siteName + " in catalogue version " + catalogue.version()));
+        return runStages(site, username, catalogue.notFoundMatcher(), httpStages, browserStage);
+    }
 
-                } catch (TimeoutException ignored) {}
+    private SiteStatus runStages(SiteEntity site, String username, IndicatorMatcher notFoundMatcher, boolean httpStages, boolean browserStage) {
+        String url = site.url(username);
+        DetectionStage stage = site.getDetectionStage();
+
+//      CIRCUIT CHECK
+        if (!siteHealthRegistry.allowRequest(site.getName())) {
+            logger.debug("Circuit open for {}, skipping", site.getName());
+            return SiteStatus.SKIPPED;
+        }
+
+        if (httpStages) {
+//          STAGE 1: STATUS CODE CHECK
+            if (stage != DetectionStage.BODY) {
+                SiteStatus status = checkStatusCode(site, url, stage == DetectionStage.STATUS);
+                if (status != SiteStatus.UNKNOWN) return status;
             }
 
+//          STAGE 2: RAW BODY AND REDIRECT CHECK
+            if (stage != DetectionStage.BROWSER) {
+                SiteStatus status = checkBody(site, url, username, notFoundMatcher);
+                if (status != SiteStatus.UNKNOWN) return status;
+            }
+        }
+
+//      STAGE 3: BROWSER CHECK
+        if (!browserStage) return null;
+        return checkInBrowser(site, url, username, notFoundMatcher);
+    }
+
+    private SiteStatus checkStatusCode(SiteEntity site, String url, boolean decisive) {
+        StatusProbe probe = probeStatus(site, url);
+        if (probe == null) return SiteStatus.UNKNOWN;
+        int statusCode = probe.statusCode();
+        if (statusCode == 404 || statusCode == 410) return SiteStatus.ABSENT;
+//      A 2XX AFTER A REDIRECT IS USUALLY A LOGIN, CONSENT OR SEARCH PAGE, NOT THE PROFILE
+        if (decisive && !probe.redirected() && statusCode >= 200 && statusCode < 300) return SiteStatus.FOUND;
+        return SiteStatus.UNKNOWN;
+    }
+
+    private SiteStatus checkBody(SiteEntity site, String url, String username, IndicatorMatcher notFoundMatcher) {
+        ConditionalRequestCache<SiteStatus> bodyVerdicts = httpProbeClient.bodyVerdicts();
+        HttpResponse<BodyScan> response;
+        try {
+            HttpRequest get = bodyVerdicts.conditional(url, HttpRequest.newBuilder(URI.create(url)))
+                    .GET()
+                    .timeout(siteHealthRegistry.timeout(site.getName(), SiteHealthRegistry.Channel.HTTP))
+                    .build();
+            long maxBytes = site.getMaxBodyBytes() != null ? site.getMaxBodyBytes() : scanMaxBytes;
+            response = send(site, "http_body", get,
+                    BodyScanSubscriber.handler(site.notFoundMatcher(notFoundMatcher), username, maxBytes, scanFoundMarginChars));
+        } catch (IOException | InterruptedException e) {
+            logger.debug("GET failed for {}: {}", url, e.getMessage());
+            return SiteStatus.UNKNOWN;
+        }
+
+        SiteStatus revalidated = bodyVerdicts.reuse(url, response);
+        if (revalidated != null) return revalidated;
+
+        SiteStatus status = bodyVerdict(url, username, response);
+        bodyVerdicts.remember(url, response, status);
+        return status;
+    }
+
+    private SiteStatus bodyVerdict(String url, String username, HttpResponse<BodyScan> response) {
+        int statusCode = response.statusCode();
+        if (statusCode == 404 || statusCode == 410) return SiteStatus.ABSENT;
+        if (statusCode < 200 || statusCode >= 300) return SiteStatus.UNKNOWN;
+
+        String finalUrl = response.uri().toString().toLowerCase(Locale.ROOT);
+        if (!finalUrl.equals(url.toLowerCase(Locale.ROOT)) && !finalUrl.contains(username.toLowerCase(Locale.ROOT))) return SiteStatus.ABSENT;
+
+        BodyScan scan = response.body();
+        if (scan.notFoundIndicator() != null) {
+            logger.debug("Not-found indicator \"{}\" matched for {} after {} bytes", scan.notFoundIndicator(), url, scan.bytesRead());
+            return SiteStatus.ABSENT;
+        }
+        if (scan.usernameSeen()) return SiteStatus.FOUND;
+
+        return SiteStatus.UNKNOWN;
+    }
+
+    private SiteStatus checkInBrowser(SiteEntity site, String url, String username, IndicatorMatcher notFoundMatcher) {
+        long leaseStartedAt = System.nanoTime();
+        WebDriverPool.Lease lease = webDriverPool.borrow();
+        osintMetrics.recordStage(site.getName(), "browser_lease", leaseStartedAt);
+
+        try {
+            lease.blockUrls(webDriverPool.blockedUrls(site.getBlockUrls(), site.getAllowUrls()));
+            return renderInBrowser(site, lease.driver(), url, username, notFoundMatcher);
+        } catch (TimeoutException te) {
+            logger.debug("Page load timed out for {}: {}", url, te.getMessage());
+//          A HUNG RENDERER DOES NOT RECOVER, A SLOW SITE DOES NOT HURT THE SESSION
+            if (String.valueOf(te.getMessage()).contains("renderer")) lease.invalidate();
+            return SiteStatus.TIMEOUT;
         } catch (WebDriverException wbe) {
             logger.debug("Selenium failed for {}: {}", url, wbe.getMessage());
-            return null;
+            lease.invalidate();
+            return SiteStatus.ERROR;
         } finally {
-            if (driver != null) {
-                try {
-                    driver.quit();
-                } catch (Exception e) {
-                    logger.debug("Error quitting driver for {}: {}", url, e.getMessage());
-                }
-            }
+            long releaseStartedAt = System.nanoTime();
+            lease.close();
+            osintMetrics.recordStage(site.getName(), "browser_release", releaseStartedAt);
         }
+    }
+
+    private SiteStatus renderInBrowser(SiteEntity site, WebDriver driver, String url, String username, IndicatorMatcher notFoundMatcher) {
+        Duration timeout = siteHealthRegistry.timeout(site.getName(), SiteHealthRegistry.Channel.BROWSER);
+        driver.manage().timeouts().pageLoadTimeout(timeout);
+
+        long startedAt = System.currentTimeMillis();
+        long navigateStartedAt = System.nanoTime();
+        try {
+            driver.get(url);
+            siteHealthRegistry.recordSuccess(site.getName(), SiteHealthRegistry.Channel.BROWSER, System.currentTimeMillis() - startedAt);
+        } catch (WebDriverException wde) {
+            siteHealthRegistry.recordFailure(site.getName(), SiteHealthRegistry.Channel.BROWSER, System.currentTimeMillis() - startedAt);
+            throw wde;
+        } finally {
+            osintMetrics.recordStage(site.getName(), "browser_navigate", navigateStartedAt);
+        }
+
+//      ONE READINESS WAIT, SETTLES ON WHICHEVER SIGNAL COMES FIRST
+        SiteCheckStrategy strategy = siteCheckStrategies.get(site.getCheckStrategy());
+        BrowserCheck check = new BrowserCheck(site, url, username, driver, timeout, readinessSettle, inPageVerdict, notFoundMatcher, osintMetrics);
+        check.awaitReady(strategy.readySelector(site));
 
-        if (site.getName().equals("X")) return null;
-        return url;
+//      URL CHECK
+        String currentUrl = Optional.ofNullable(driver.getCurrentUrl()).orElse("").toLowerCase(Locale.ROOT);
+        if (!currentUrl.equals(url.toLowerCase(Locale.ROOT)) && !currentUrl.contains(username.toLowerCase(Locale.ROOT))) return SiteStatus.ABSENT;
+
+//      SITE-SPECIFIC DECISION
+        return strategy.check(check);
     }
 
-    private Integer getStatusCode(String url) {
+    private StatusProbe probeStatus(SiteEntity site, String url) {
+        Duration timeout = siteHealthRegistry.timeout(site.getName(), SiteHealthRegistry.Channel.HTTP);
+        ConditionalRequestCache<StatusProbe> statusCodes = httpProbeClient.statusCodes();
         try {
-            HttpRequest head = HttpRequest.newBuilder(URI.create(url))
+            HttpRequest head = statusCodes.conditional(url, HttpRequest.newBuilder(URI.create(url)))
                     .method("HEAD", HttpRequest.BodyPublishers.noBody())
-                    .timeout(Duration.ofSeconds(10))
+                    .timeout(timeout)
                     .build();
-            HttpResponse<Void> response = httpClient.send(head, HttpResponse.BodyHandlers.discarding());
-            return response.statusCode();
+            return statusProbe(statusCodes, url, send(site, "http_head", head, HttpResponse.BodyHandlers.discarding()));
         } catch (IOException | InterruptedException e) {
             logger.debug("HEAD failed for {}: {}",  url, e.getMessage());
 
             try {
-                HttpRequest get = HttpRequest.newBuilder(URI.create(url))
+                HttpRequest get = statusCodes.conditional(url, HttpRequest.newBuilder(URI.create(url)))
                         .GET()
-                        .timeout(Duration.ofSeconds(10))
+                        .timeout(timeout)
                         .build();
-                HttpResponse<Void> response = httpClient.send(get, HttpResponse.BodyHandlers.discarding());
-                return response.statusCode();
+                return statusProbe(statusCodes, url, send(site, "http_get", get, HttpResponse.BodyHandlers.discarding()));
 
             } catch (Exception ex) {
                 logger.debug("GET failed for {}: {}",  url, ex.getMessage());
@@ -187,6 +578,47 @@ public class OSINTService {
         }
     }
 
+//  A 304 STANDS FOR THE PROBE OF THE RESPONSE THAT CARRIED THE VALIDATORS
+    private static StatusProbe statusProbe(ConditionalRequestCache<StatusProbe> statusCodes, String url, HttpResponse<?> response) {
+        StatusProbe revalidated = statusCodes.reuse(url, response);
+        if (revalidated != null) return revalidated;
+
+        StatusProbe probe = new StatusProbe(response.statusCode(), !sameUrl(response.uri().toString(), url));
+        statusCodes.remember(url, response, probe);
+        return probe;
+    }
+
+    private static boolean sameUrl(String a, String b) {
+        return stripTrailingSlash(a.toLowerCase(Locale.ROOT)).equals(stripTrailingSlash(b.toLowerCase(Locale.ROOT)));
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private <T> HttpResponse<T> send(SiteEntity site, String stage, HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        try (HostConcurrencyLimiter.Permit ignored = hostConcurrencyLimiter.acquire(request.uri())) {
+            long startedAt = System.currentTimeMillis();
+            long stageStartedAt = System.nanoTime();
+            try {
+                HttpResponse<T> response = httpProbeClient.send(request, bodyHandler);
+                long latency = System.currentTimeMillis() - startedAt;
+                int statusCode = response.statusCode();
+                if (statusCode == 429 || statusCode >= 500) {
+                    siteHealthRegistry.recordFailure(site.getName(), SiteHealthRegistry.Channel.HTTP, latency);
+                } else {
+                    siteHealthRegistry.recordSuccess(site.getName(), SiteHealthRegistry.Channel.HTTP, latency);
+                }
+                return response;
+            } catch (IOException e) {
+                siteHealthRegistry.recordFailure(site.getName(), SiteHealthRegistry.Channel.HTTP, System.currentTimeMillis() - startedAt);
+                throw e;
+            } finally {
+                osintMetrics.recordStage(site.getName(), stage, stageStartedAt);
+            }
+        }
+    }
+
     @PreDestroy
     public void cleanup() {
         if (executorService != null) {
@@ -0,0 +1,172 @@
+package com.crl.hh.service.osint.cache;
+
+import com.crl.hh.repository.models.SiteEntity;
+import com.crl.hh.repository.models.enums.SiteStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@RequiredArgsConstructor
+public class SearchResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchResultCache.class);
+    private static final String KEY_PREFIX = "osint:result:";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    @Value("${osint.cache.hit-ttl-seconds:3600}")
+    private long hitTtlSeconds;
+
+    @Value("${osint.cache.miss-ttl-seconds:600}")
+    private long missTtlSeconds;
+
+    @Value("${osint.cache.l1.max-size:10000}")
+    private long l1MaxSize;
+
+    @Value("${osint.cache.redis.enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${osint.cache.redis.timeout-ms:200}")
+    private long redisTimeoutMs;
+
+    private Cache<String, SiteStatus> l1;
+
+    private final AtomicLong l1Hits = new AtomicLong();
+    private final AtomicLong l2Hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong l2Errors = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        l1 = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .expireAfter(new Expiry<String, SiteStatus>() {
+                    @Override
+                    public long expireAfterCreate(String key, SiteStatus value, long currentTime) {
+                        return ttl(value).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, SiteStatus value, long currentTime, long currentDuration) {
+                        return ttl(value).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, SiteStatus value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public static String normalize(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Cached verdicts for {@code username} keyed by site name. Sites without a cached verdict are absent from the map.
+     */
+    public Map<String, SiteStatus> getAll(String username, List<SiteEntity> sites) {
+        String normalized = normalize(username);
+        Map<String, SiteStatus> result = new HashMap<>();
+        List<SiteEntity> l1Missed = new ArrayList<>();
+
+        for (SiteEntity site : sites) {
+            SiteStatus status = l1.getIfPresent(key(normalized, site));
+            if (status != null) {
+                l1Hits.incrementAndGet();
+                result.put(site.getName(), status);
+            } else {
+                l1Missed.add(site);
+            }
+        }
+
+        if (l1Missed.isEmpty()) return result;
+
+        List<String> keys = l1Missed.stream().map(site -> key(normalized, site)).toList();
+        List<String> values = readL2(keys);
+
+        for (int i = 0; i < l1Missed.size(); i++) {
+            SiteStatus status = parse(values.get(i));
+            if (status == null) {
+                misses.incrementAndGet();
+                continue;
+            }
+            l2Hits.incrementAndGet();
+            l1.put(keys.get(i), status);
+            result.put(l1Missed.get(i).getName(), status);
+        }
+        return result;
+    }
+
+    public void put(String username, SiteEntity site, SiteStatus status) {
+        if (status != SiteStatus.FOUND && status != SiteStatus.ABSENT) return;
+
+        String key = key(normalize(username), site);
+        l1.put(key, status);
+
+        if (redisEnabled) {
+            redisTemplate.opsForValue()
+                    .set(key, status.name(), ttl(status))
+                    .subscribe(ok -> {}, e -> {
+                        l2Errors.incrementAndGet();
+                        logger.debug("Redis write failed for {}: {}", key, e.getMessage());
+                    });
+        }
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("l1Hits", l1Hits.get());
+        stats.put("l2Hits", l2Hits.get());
+        stats.put("misses", misses.get());
+        stats.put("l2Errors", l2Errors.get());
+        stats.put("l1Size", l1.estimatedSize());
+        return stats;
+    }
+
+    private List<String> readL2(List<String> keys) {
+        if (redisEnabled) {
+            try {
+                List<String> values = redisTemplate.opsForValue()
+                        .multiGet(keys)
+                        .block(Duration.ofMillis(redisTimeoutMs));
+                if (values != null && values.size() == keys.size()) return values;
+            } catch (Exception e) {
+                l2Errors.incrementAndGet();
+                logger.debug("Redis read failed: {}", e.getMessage());
+            }
+        }
+        return Collections.nCopies(keys.size(), null);
+    }
+
+    private Duration ttl(SiteStatus status) {
+        return Duration.ofSeconds(status == SiteStatus.FOUND ? hitTtlSeconds : missTtlSeconds);
+    }
+
+    private static SiteStatus parse(String value) {
+        if (value == null) return null;
+        try {
+            return SiteStatus.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+//  THE DEFINITION HASH RETIRES VERDICTS OF A SITE WHOSE CATALOGUE ENTRY CHANGED, OTHER SITES KEEP THEIRS
+    private static String key(String normalizedUsername, SiteEntity site) {
+        return KEY_PREFIX + site.getName() + ":" + site.getDefinitionHash() + ":" + normalizedUsername;
+    }
+}
@@ -0,0 +1,18 @@
+package com.crl.hh.service.osint.catalogue;
+
+import com.crl.hh.matcher.IndicatorMatcher;
+import com.crl.hh.repository.models.SiteEntity;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One validated, precompiled version of the site catalogue and the not-found indicators.
+ * Never modified after it is published; a search holds on to the snapshot it started with.
+ */
+public record CatalogueSnapshot(long version, Instant loadedAt, List<SiteEntity> sites, IndicatorMatcher notFoundMatcher) {
+
+    public CatalogueSnapshot {
+        sites = List.copyOf(sites);
+    }
+}
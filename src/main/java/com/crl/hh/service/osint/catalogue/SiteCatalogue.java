@@ -0,0 +1,181 @@
+package com.crl.hh.service.osint.catalogue;
+
+import com.crl.hh.matcher.IndicatorMatcher;
+import com.crl.hh.repository.NotFoundIndicatorsRepository;
+import com.crl.hh.repository.SiteEntityRepository;
+import com.crl.hh.repository.models.SiteEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Holds the active {@link CatalogueSnapshot}. The sites and indicators files are watched; a change is
+ * validated and compiled off to the side and published with a single reference swap, so readers never
+ * see a half-loaded catalogue and a broken edit leaves the previous version in place.
+ */
+@Component
+@RequiredArgsConstructor
+public class SiteCatalogue {
+
+    private static final Logger logger = LoggerFactory.getLogger(SiteCatalogue.class);
+
+    private final SiteEntityRepository siteEntityRepository;
+    private final NotFoundIndicatorsRepository notFoundIndicatorsRepository;
+
+    @Value("${sites.watch.enabled:true}")
+    private boolean watchEnabled;
+
+    @Value("${sites.watch.debounce-ms:250}")
+    private long debounceMs;
+
+    private final AtomicReference<CatalogueSnapshot> current = new AtomicReference<>();
+    private final List<Consumer<CatalogueSnapshot>> listeners = new CopyOnWriteArrayList<>();
+    private WatchService watchService;
+    private Thread watcher;
+
+    @PostConstruct
+    public void init() {
+        reload();
+        if (watchEnabled) startWatching();
+    }
+
+    public CatalogueSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Called with every snapshot published after registration.
+     */
+    public void addListener(Consumer<CatalogueSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Loads both files into a new snapshot and publishes it. Throws {@link IllegalStateException} and keeps
+     * the active snapshot if either file is invalid.
+     */
+    public synchronized CatalogueSnapshot reload() {
+        List<SiteEntity> sites = siteEntityRepository.load();
+        IndicatorMatcher notFoundMatcher = IndicatorMatcher.compile(notFoundIndicatorsRepository.load());
+        sites.forEach(site -> site.fingerprint(notFoundMatcher));
+
+        CatalogueSnapshot previous = current.get();
+        long version = previous == null ? 1 : previous.version() + 1;
+        CatalogueSnapshot snapshot = new CatalogueSnapshot(version, Instant.now(), sites, notFoundMatcher);
+        current.set(snapshot);
+
+        logger.info("Site catalogue version {} active: {} sites, {} not-found indicators",
+                version, sites.size(), notFoundMatcher.getIndicators().size());
+
+        for (Consumer<CatalogueSnapshot> listener : listeners) {
+            try {
+                listener.accept(snapshot);
+            } catch (RuntimeException e) {
+                logger.warn("Catalogue listener failed for version {}: {}", version, e.getMessage());
+            }
+        }
+        return snapshot;
+    }
+
+    public Map<String, Object> describe() {
+        CatalogueSnapshot snapshot = current.get();
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("version", snapshot.version());
+        description.put("loadedAt", snapshot.loadedAt().toString());
+        description.put("sites", snapshot.sites().stream().map(SiteEntity::getName).toList());
+        description.put("notFoundIndicators", snapshot.notFoundMatcher().getIndicators().size());
+        description.put("watching", watcher != null && watcher.isAlive());
+        return description;
+    }
+
+    private void startWatching() {
+        Set<Path> files = new HashSet<>();
+        Optional.ofNullable(siteEntityRepository.watchablePath()).ifPresent(files::add);
+        Optional.ofNullable(notFoundIndicatorsRepository.watchablePath()).ifPresent(files::add);
+        if (files.isEmpty()) {
+            logger.info("Catalogue files are not on the file system, hot reload disabled");
+            return;
+        }
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            Set<Path> directories = new HashSet<>();
+            for (Path file : files) {
+                if (directories.add(file.getParent())) {
+                    file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not watch catalogue files, hot reload disabled: {}", e.getMessage());
+            return;
+        }
+
+        watcher = new Thread(() -> watch(files), "site-catalogue-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watch(Set<Path> files) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = drain(key, files);
+
+//              EDITORS WRITE IN SEVERAL STEPS, WAIT FOR THE FILE TO SETTLE BEFORE READING IT
+                while (changed && (key = watchService.poll(debounceMs, TimeUnit.MILLISECONDS)) != null) {
+                    drain(key, files);
+                }
+                if (!changed) continue;
+
+                try {
+                    reload();
+                } catch (RuntimeException e) {
+                    logger.error("Rejected catalogue change, keeping version {}: {}", current.get().version(), rootMessage(e));
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.debug("Catalogue watcher stopped");
+        }
+    }
+
+    private static boolean drain(WatchKey key, Set<Path> files) {
+        Path directory = (Path) key.watchable();
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || files.contains(directory.resolve((Path) event.context()))) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    private static String rootMessage(Throwable e) {
+        while (e.getCause() != null) e = e.getCause();
+        return e.getMessage();
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (watcher != null) watcher.interrupt();
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {}
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.crl.hh.service.osint.dispatch;
+
+import com.crl.hh.repository.models.SiteEntity;
+import com.crl.hh.repository.models.enums.DetectionStage;
+import com.crl.hh.repository.models.enums.SiteStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.ReactiveStreamOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Originating side of the distributed check queue. With {@code osint.dispatch.mode=redis} every uncached
+ * (username, site) check is appended to a Redis Stream, HTTP-only sites and browser sites on separate streams
+ * so they can be served by separate worker fleets. Verdicts come back on this node's own reply stream.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisCheckDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisCheckDispatcher.class);
+
+    public static final String HTTP_STREAM = "osint:tasks:http";
+    public static final String BROWSER_STREAM = "osint:tasks:browser";
+    static final String REPLY_STREAM_PREFIX = "osint:replies:";
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_USERNAME = "username";
+    static final String FIELD_SITE = "site";
+    static final String FIELD_REPLY_TO = "replyTo";
+    static final String FIELD_STAGES = "stages";
+    static final String FIELD_STATUS = "status";
+
+    static final String STAGES_ALL = "all";
+    static final String STAGES_BROWSER = "browser";
+
+    private static final Duration REPLY_STREAM_TTL = Duration.ofHours(1);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    @Value("${osint.dispatch.mode:local}")
+    private String mode;
+
+    @Value("${osint.dispatch.reply-timeout-ms:60000}")
+    private long replyTimeoutMs;
+
+    @Value("${osint.dispatch.stream-max-length:100000}")
+    private long streamMaxLength;
+
+    @Value("${osint.node-id:}")
+    private String configuredNodeId;
+
+    private final Map<String, CompletableFuture<SiteStatus>> awaiting = new ConcurrentHashMap<>();
+    private String nodeId;
+    private String replyStream;
+    private Thread replyReader;
+    private volatile boolean closed;
+
+    @PostConstruct
+    public void init() {
+        nodeId = configuredNodeId == null || configuredNodeId.isBlank()
+                ? UUID.randomUUID().toString().substring(0, 8)
+                : configuredNodeId;
+        replyStream = REPLY_STREAM_PREFIX + nodeId;
+
+        if (!isEnabled()) return;
+        replyReader = new Thread(this::readReplies, "osint-reply-reader");
+        replyReader.setDaemon(true);
+        replyReader.start();
+        logger.info("Site checks are dispatched over Redis Streams, replies on {}", replyStream);
+    }
+
+    public boolean isEnabled() {
+        return "redis".equalsIgnoreCase(mode);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Queues one check. The future completes with the worker's verdict, or with a TimeoutException
+     * after {@code osint.dispatch.reply-timeout-ms}.
+     */
+    public CompletableFuture<SiteStatus> dispatch(SiteEntity site, String username) {
+        String id = UUID.randomUUID().toString();
+        CompletableFuture<SiteStatus> reply = new CompletableFuture<>();
+        awaiting.put(id, reply);
+        reply.whenComplete((status, e) -> awaiting.remove(id));
+
+        String stream = site.getDetectionStage() == DetectionStage.BROWSER ? BROWSER_STREAM : HTTP_STREAM;
+        Map<String, String> task = Map.of(
+                FIELD_ID, id,
+                FIELD_USERNAME, username,
+                FIELD_SITE, site.getName(),
+                FIELD_REPLY_TO, replyStream,
+                FIELD_STAGES, STAGES_ALL);
+        append(stream, task).subscribe(recordId -> {}, reply::completeExceptionally);
+
+        return reply.orTimeout(replyTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    Mono<RecordId> append(String stream, Map<String, String> fields) {
+        MapRecord<String, String, String> record = StreamRecords.newRecord().in(stream).ofMap(fields);
+        return redisTemplate.opsForStream().add(record, RedisStreamCommands.XAddOptions.maxlen(streamMaxLength).approximateTrimming(true));
+    }
+
+    private void readReplies() {
+        ReactiveStreamOperations<String, String, String> streams = redisTemplate.opsForStream();
+        String lastId = "0-0";
+        long nextExpireAt = 0;
+
+        while (!closed) {
+            try {
+                List<MapRecord<String, String, String>> replies = streams
+                        .read(StreamReadOptions.empty().count(500).block(Duration.ofSeconds(2)),
+                                StreamOffset.create(replyStream, ReadOffset.from(lastId)))
+                        .collectList()
+                        .block();
+
+                if (replies != null) {
+                    for (MapRecord<String, String, String> reply : replies) {
+                        lastId = reply.getId().getValue();
+                        complete(reply.getValue());
+                    }
+                }
+
+//              A NODE THAT GOES AWAY LEAVES ITS REPLY STREAM BEHIND, LET REDIS DROP IT
+                if (System.currentTimeMillis() >= nextExpireAt) {
+                    redisTemplate.expire(replyStream, REPLY_STREAM_TTL).block();
+                    nextExpireAt = System.currentTimeMillis() + REPLY_STREAM_TTL.toMillis() / 4;
+                }
+            } catch (RuntimeException e) {
+                if (closed) return;
+                logger.warn("Reading replies from {} failed: {}", replyStream, e.getMessage());
+                sleepQuietly(1000);
+            }
+        }
+    }
+
+    private void complete(Map<String, String> reply) {
+        CompletableFuture<SiteStatus> future = awaiting.get(reply.get(FIELD_ID));
+        if (future == null) return;
+        try {
+            future.complete(SiteStatus.valueOf(reply.get(FIELD_STATUS)));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            future.complete(SiteStatus.ERROR);
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        closed = true;
+        if (replyReader != null) replyReader.interrupt();
+        awaiting.values().forEach(future -> future.cancel(false));
+    }
+}
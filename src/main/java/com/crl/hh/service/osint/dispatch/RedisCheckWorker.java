@@ -0,0 +1,223 @@
+package com.crl.hh.service.osint.dispatch;
+
+import com.crl.hh.repository.models.enums.SiteStatus;
+import com.crl.hh.service.osint.OSINTService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.ReactiveStreamOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Consumes the check streams named in {@code osint.worker.streams} ({@code http}, {@code browser}) through a shared
+ * consumer group. A task is acknowledged once its verdict is on the originating node's reply stream; tasks a dead
+ * worker left pending are claimed after {@code osint.worker.claim-idle-ms}. HTTP workers never start a browser:
+ * a check they cannot decide moves on to the browser stream.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisCheckWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisCheckWorker.class);
+
+    static final String GROUP = "osint-workers";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RedisCheckDispatcher checkDispatcher;
+    private final OSINTService osintService;
+
+    @Value("${osint.worker.streams:}")
+    private List<String> workerStreams;
+
+    @Value("${osint.worker.http.concurrency:32}")
+    private int httpConcurrency;
+
+    @Value("${osint.worker.browser.concurrency:4}")
+    private int browserConcurrency;
+
+    @Value("${osint.worker.claim-idle-ms:120000}")
+    private long claimIdleMs;
+
+    @Value("${osint.worker.max-deliveries:3}")
+    private int maxDeliveries;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Thread> consumers = new ArrayList<>();
+    private volatile boolean closed;
+
+    @PostConstruct
+    public void init() {
+        for (String name : workerStreams) {
+            String stream = switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "http" -> RedisCheckDispatcher.HTTP_STREAM;
+                case "browser" -> RedisCheckDispatcher.BROWSER_STREAM;
+                case "" -> null;
+                default -> throw new IllegalStateException("Unknown worker stream " + name + ", expected http or browser");
+            };
+            if (stream == null) continue;
+
+            Semaphore permits = new Semaphore(stream.equals(RedisCheckDispatcher.BROWSER_STREAM) ? browserConcurrency : httpConcurrency);
+            Thread consumer = new Thread(() -> consume(stream, permits), "osint-worker-" + name.trim());
+            consumer.setDaemon(true);
+            consumers.add(consumer);
+            consumer.start();
+            logger.info("Consuming {} as {} in group {}", stream, checkDispatcher.getNodeId(), GROUP);
+        }
+    }
+
+    private void consume(String stream, Semaphore permits) {
+        ReactiveStreamOperations<String, String, String> streams = redisTemplate.opsForStream();
+        Consumer consumer = Consumer.from(GROUP, checkDispatcher.getNodeId());
+        boolean groupReady = false;
+        long nextClaimAt = 0;
+
+        while (!closed) {
+            try {
+                if (!groupReady) {
+                    createGroup(stream);
+                    groupReady = true;
+                }
+                if (System.currentTimeMillis() >= nextClaimAt) {
+                    reclaim(streams, stream, permits);
+                    nextClaimAt = System.currentTimeMillis() + claimIdleMs / 2;
+                }
+
+//              ONLY TAKE WHAT CAN START NOW, THE REST STAYS AVAILABLE TO OTHER WORKERS
+                permits.acquire();
+                int free = permits.availablePermits() + 1;
+                permits.release();
+
+                List<MapRecord<String, String, String>> tasks = streams
+                        .read(consumer, StreamReadOptions.empty().count(free).block(Duration.ofSeconds(2)),
+                                StreamOffset.create(stream, ReadOffset.lastConsumed()))
+                        .collectList()
+                        .block();
+                if (tasks != null) {
+                    for (MapRecord<String, String, String> task : tasks) {
+                        submit(stream, task, permits);
+                    }
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                if (closed) return;
+                logger.warn("Consuming {} failed: {}", stream, e.getMessage());
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void submit(String stream, MapRecord<String, String, String> task, Semaphore permits) throws InterruptedException {
+        permits.acquire();
+        executor.submit(() -> {
+            try {
+                handle(stream, task);
+            } catch (RuntimeException e) {
+                logger.warn("Task {} on {} left pending: {}", task.getId(), stream, e.getMessage());
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    private void handle(String stream, MapRecord<String, String, String> record) {
+        Map<String, String> task = record.getValue();
+        boolean browserStream = stream.equals(RedisCheckDispatcher.BROWSER_STREAM);
+        boolean httpStages = !RedisCheckDispatcher.STAGES_BROWSER.equals(task.get(RedisCheckDispatcher.FIELD_STAGES));
+
+        SiteStatus status;
+        try {
+            status = osintService.checkForWorker(task.get(RedisCheckDispatcher.FIELD_SITE), task.get(RedisCheckDispatcher.FIELD_USERNAME),
+                    httpStages, browserStream);
+        } catch (RuntimeException e) {
+            logger.debug("Check {} failed: {}", record.getId(), e.getMessage());
+            status = SiteStatus.ERROR;
+        }
+
+        if (status == null) {
+            Map<String, String> escalated = new HashMap<>(task);
+            escalated.put(RedisCheckDispatcher.FIELD_STAGES, RedisCheckDispatcher.STAGES_BROWSER);
+            checkDispatcher.append(RedisCheckDispatcher.BROWSER_STREAM, escalated).block();
+        } else {
+            reply(task, status);
+        }
+        redisTemplate.opsForStream().acknowledge(stream, GROUP, record.getId()).block();
+    }
+
+    private void reply(Map<String, String> task, SiteStatus status) {
+        checkDispatcher.append(task.get(RedisCheckDispatcher.FIELD_REPLY_TO), Map.of(
+                RedisCheckDispatcher.FIELD_ID, task.get(RedisCheckDispatcher.FIELD_ID),
+                RedisCheckDispatcher.FIELD_STATUS, status.name())).block();
+    }
+
+    /**
+     * Takes over tasks idle in another consumer's pending list. A task delivered {@code osint.worker.max-deliveries}
+     * times is answered with ERROR and dropped, so one poisonous task cannot cycle through the fleet forever.
+     */
+    private void reclaim(ReactiveStreamOperations<String, String, String> streams, String stream, Semaphore permits) throws InterruptedException {
+        PendingMessages pending = streams.pending(stream, GROUP, Range.unbounded(), 100).block();
+        if (pending == null || pending.isEmpty()) return;
+
+        Map<RecordId, Long> deliveries = new HashMap<>();
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().toMillis() >= claimIdleMs) {
+                deliveries.put(message.getId(), message.getTotalDeliveryCount());
+            }
+        }
+        if (deliveries.isEmpty()) return;
+
+        List<MapRecord<String, String, String>> claimed = streams
+                .claim(stream, GROUP, checkDispatcher.getNodeId(), RedisStreamCommands.XClaimOptions
+                        .minIdle(Duration.ofMillis(claimIdleMs))
+                        .ids(deliveries.keySet().toArray(RecordId[]::new)))
+                .collectList()
+                .block();
+        if (claimed == null) return;
+
+        for (MapRecord<String, String, String> task : claimed) {
+            if (deliveries.getOrDefault(task.getId(), 0L) >= maxDeliveries) {
+                logger.warn("Dropping task {} on {} after {} deliveries", task.getId(), stream, deliveries.get(task.getId()));
+                reply(task.getValue(), SiteStatus.ERROR);
+                streams.acknowledge(stream, GROUP, task.getId()).block();
+            } else {
+                submit(stream, task, permits);
+            }
+        }
+    }
+
+    private void createGroup(String stream) {
+        ByteBuffer key = ByteBuffer.wrap(stream.getBytes(StandardCharsets.UTF_8));
+        redisTemplate.execute(connection -> connection.streamCommands().xGroupCreate(key, GROUP, ReadOffset.from("0"), true))
+                .onErrorResume(e -> String.valueOf(e.getMessage()).contains("BUSYGROUP")
+                        ? Mono.empty()
+                        : Mono.error(e))
+                .blockLast();
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        closed = true;
+        consumers.forEach(Thread::interrupt);
+        executor.shutdownNow();
+    }
+}
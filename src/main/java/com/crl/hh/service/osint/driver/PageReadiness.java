@@ -0,0 +1,192 @@
+package com.crl.hh.service.osint.driver;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Waits for a rendered page to settle on the first of several signals, driven by in-page events rather than
+ * WebDriver polling. A MutationObserver and the request tracker installed by {@link WebDriverPool} wake the
+ * script on every DOM change and every request start or end. The page counts as quiet once no element was added
+ * or removed and no request started or ended for {@code quietMs}, while no fetch or XHR younger than
+ * {@code requestCapMs} is in flight; text-only changes (tickers, clocks) and long-polls do not hold it up. A page
+ * that never goes quiet, e.g. a carousel, settles as {@link Signal#BUSY} after {@code maxSettleMs}.
+ */
+public final class PageReadiness {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageReadiness.class);
+    private static final List<String> UNLOAD_MESSAGES = List.of("document unloaded", "execution context was destroyed", "navigated or closed");
+
+    public enum Signal {
+        SELECTOR,
+        INDICATOR,
+        REDIRECT,
+        QUIET,
+        BUSY,
+        TIMEOUT
+    }
+
+    /**
+     * When a page counts as settled without a selector, indicator or redirect.
+     */
+    public record Settle(long quietMs, long requestCapMs, long maxSettleMs) {
+    }
+
+    /**
+     * Records the start time of every in-flight fetch / XHR request and announces every start and end, together
+     * with completed resource loads, as a {@code crl-network} event. Installed on each new document through CDP.
+     */
+    static final String NETWORK_TRACKER = """
+            (function () {
+              if (window.__crlRequests !== undefined) return;
+              var requests = window.__crlRequests = {}, next = 0;
+              function start() {
+                var id = ++next;
+                requests[id] = Date.now();
+                window.dispatchEvent(new Event('crl-network'));
+                return id;
+              }
+              function end(id) {
+                delete requests[id];
+                window.dispatchEvent(new Event('crl-network'));
+              }
+              var originalFetch = window.fetch;
+              if (originalFetch) {
+                window.fetch = function () {
+                  var id = start();
+                  return originalFetch.apply(this, arguments).finally(function () { end(id); });
+                };
+              }
+              var originalSend = XMLHttpRequest.prototype.send;
+              XMLHttpRequest.prototype.send = function () {
+                var id = start();
+                this.addEventListener('loadend', function () { end(id); }, {once: true});
+                return originalSend.apply(this, arguments);
+              };
+              try {
+                new PerformanceObserver(function () { window.dispatchEvent(new Event('crl-network')); }).observe({type: 'resource'});
+              } catch (e) {}
+            })();
+            """;
+
+    private static final String AWAIT_SCRIPT = """
+            var selector = arguments[0], indicators = arguments[1], timeoutMs = arguments[2], quietMs = arguments[3];
+            var requestCapMs = arguments[4], maxSettleMs = arguments[5];
+            var done = arguments[arguments.length - 1];
+            var startUrl = location.href, finished = false, observer, checkTimer, quietTimer, settleTimer, deadline;
+
+            function finish(signal) {
+              if (finished) return;
+              finished = true;
+              if (observer) observer.disconnect();
+              clearTimeout(checkTimer);
+              clearTimeout(quietTimer);
+              clearTimeout(settleTimer);
+              clearTimeout(deadline);
+              ['crl-network', 'popstate', 'hashchange'].forEach(function (type) { window.removeEventListener(type, activity); });
+              done(signal);
+            }
+
+            function evaluate() {
+              checkTimer = null;
+              if (location.href !== startUrl) return finish('REDIRECT');
+              if (selector && document.querySelector(selector)) return finish('SELECTOR');
+              if (indicators.length && document.body) {
+                var text = document.body.innerText.toLowerCase();
+                for (var i = 0; i < indicators.length; i++) {
+                  if (text.indexOf(indicators[i]) >= 0) return finish('INDICATOR');
+                }
+              }
+            }
+
+            // REQUESTS OLDER THAN THE CAP ARE LONG-POLLS OR STREAMS THAT WILL NOT END WHILE WE WAIT
+            function youngRequests() {
+              var requests = window.__crlRequests || {}, cutoff = Date.now() - requestCapMs, young = 0;
+              for (var id in requests) {
+                if (requests[id] >= cutoff) young++;
+              }
+              return young;
+            }
+
+            function settle(signal) {
+              evaluate();
+              finish(signal);
+            }
+
+            function quiet() {
+              if (youngRequests() > 0) {
+                quietTimer = setTimeout(quiet, quietMs);
+                return;
+              }
+              settle('QUIET');
+            }
+
+            function check() {
+              if (!finished && !checkTimer) checkTimer = setTimeout(evaluate, 50);
+            }
+
+            function activity() {
+              if (finished) return;
+              check();
+              clearTimeout(quietTimer);
+              quietTimer = setTimeout(quiet, quietMs);
+            }
+
+            function mutated(records) {
+              for (var i = 0; i < records.length; i++) {
+                if (records[i].type === 'childList') return activity();
+              }
+              check();
+            }
+
+            evaluate();
+            if (!finished) {
+              observer = new MutationObserver(mutated);
+              observer.observe(document, {childList: true, subtree: true, characterData: true});
+              ['crl-network', 'popstate', 'hashchange'].forEach(function (type) { window.addEventListener(type, activity); });
+              deadline = setTimeout(function () { finish('TIMEOUT'); }, timeoutMs);
+              if (maxSettleMs < timeoutMs) settleTimer = setTimeout(function () { settle('BUSY'); }, maxSettleMs);
+              activity();
+            }
+            """;
+
+    private PageReadiness() {
+    }
+
+    /**
+     * Blocks until {@code selector} (may be null) matches, the visible text contains one of {@code indicators},
+     * the page navigates away, the page goes quiet or stays busy past {@code maxSettleMs}, or {@code timeout}
+     * passes, whichever happens first.
+     */
+    public static Signal await(WebDriver driver, String selector, List<String> indicators, Duration timeout, Settle settle) {
+        List<String> lowered = indicators.stream().map(indicator -> indicator.toLowerCase(Locale.ROOT)).toList();
+        driver.manage().timeouts().scriptTimeout(timeout.plusSeconds(1));
+        try {
+            Object signal = ((JavascriptExecutor) driver).executeAsyncScript(AWAIT_SCRIPT, selector, lowered, timeout.toMillis(),
+                    settle.quietMs(), settle.requestCapMs(), settle.maxSettleMs());
+            return Signal.valueOf(String.valueOf(signal));
+        } catch (ScriptTimeoutException e) {
+            return Signal.TIMEOUT;
+        } catch (JavascriptException e) {
+//          A FULL NAVIGATION UNLOADS THE DOCUMENT THE SCRIPT WAS WAITING IN, ANY OTHER SCRIPT ERROR SETTLES NOTHING
+            if (isUnload(e)) {
+                logger.debug("Readiness script ended with the document: {}", e.getMessage());
+                return Signal.REDIRECT;
+            }
+            logger.warn("Readiness script failed (selector {}): {}", selector, e.getRawMessage());
+            return Signal.TIMEOUT;
+        }
+    }
+
+    private static boolean isUnload(JavascriptException e) {
+        String message = String.valueOf(e.getRawMessage()).toLowerCase(Locale.ROOT);
+        return UNLOAD_MESSAGES.stream().anyMatch(message::contains);
+    }
+}
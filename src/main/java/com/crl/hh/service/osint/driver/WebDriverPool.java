@@ -0,0 +1,280 @@
+package com.crl.hh.service.osint.driver;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class WebDriverPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebDriverPool.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${osint.driver.pool.size:4}")
+    private int poolSize;
+
+    @Value("${osint.driver.pool.lease-timeout-ms:30000}")
+    private long leaseTimeoutMs;
+
+    @Value("${osint.driver.pool.max-uses:50}")
+    private int maxUses;
+
+    @Value("${osint.driver.pool.idle-timeout-ms:300000}")
+    private long idleTimeoutMs;
+
+    @Value("${osint.driver.page-load-strategy:eager}")
+    private String pageLoadStrategy;
+
+    @Value("${osint.driver.block.enabled:true}")
+    private boolean blockEnabled;
+
+    @Value("${osint.driver.block.patterns:}")
+    private List<String> blockPatterns;
+
+//  LIFO: the most recently released session is handed out first, cold ones sink to the tail and get evicted
+    private final Deque<PooledDriver> idle = new ConcurrentLinkedDeque<>();
+    private Semaphore permits;
+    private ChromeOptions chromeOptions;
+    private ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    @PostConstruct
+    public void init() {
+        chromeOptions = new ChromeOptions();
+        chromeOptions.addArguments("--headless=new", "--disable-gpu", "--blink-settings=imagesEnabled=false");
+        chromeOptions.addArguments("--user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
+        chromeOptions.addArguments("--remote-allow-origins=*");
+//      EAGER: get() RETURNS AT DOMCONTENTLOADED, THE STRATEGIES WAIT FOR WHAT THEY NEED THEMSELVES
+        chromeOptions.setPageLoadStrategy(PageLoadStrategy.fromString(pageLoadStrategy.toLowerCase(Locale.ROOT)));
+        blockPatterns = blockPatterns.stream().map(String::trim).filter(pattern -> !pattern.isEmpty()).toList();
+
+        permits = new Semaphore(poolSize, true);
+
+        Gauge.builder("osint.browser.sessions", this, WebDriverPool::activeSessions)
+                .description("Browser sessions by state")
+                .tag("state", "active")
+                .register(meterRegistry);
+        Gauge.builder("osint.browser.sessions", idle, Deque::size)
+                .description("Browser sessions by state")
+                .tag("state", "idle")
+                .register(meterRegistry);
+
+        long evictionPeriod = Math.max(1000, idleTimeoutMs / 2);
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "webdriver-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(this::evictIdle, evictionPeriod, evictionPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    public Lease borrow() {
+        if (closed) {
+            throw new IllegalStateException("WebDriver pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(leaseTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("No browser session available within " + leaseTimeoutMs + " ms");
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", ie);
+        }
+
+        try {
+            PooledDriver pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isHealthy(pooled)) {
+                    pooled.uses++;
+                    return new Lease(pooled);
+                }
+                quit(pooled);
+            }
+
+            pooled = new PooledDriver(newDriver());
+            pooled.uses++;
+            return new Lease(pooled);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * URL patterns ({@code *} wildcards) a render of a site should not fetch: the global list without the site's
+     * {@code allowUrls}, plus its {@code blockUrls}.
+     */
+    public List<String> blockedUrls(List<String> siteBlocked, List<String> siteAllowed) {
+        if (!blockEnabled) return List.of();
+
+        Set<String> patterns = new LinkedHashSet<>(blockPatterns);
+        if (siteAllowed != null) siteAllowed.forEach(patterns::remove);
+        if (siteBlocked != null) patterns.addAll(siteBlocked);
+        return List.copyOf(patterns);
+    }
+
+    private ChromeDriver newDriver() {
+        ChromeDriver driver = new ChromeDriver(chromeOptions);
+        try {
+            driver.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", PageReadiness.NETWORK_TRACKER));
+        } catch (RuntimeException e) {
+            driver.quit();
+            throw e;
+        }
+        return driver;
+    }
+
+    public int activeSessions() {
+        return poolSize - permits.availablePermits();
+    }
+
+    private void release(PooledDriver pooled, boolean broken) {
+//      A CANCELLED CHECK LEAVES THE INTERRUPT PENDING AND EVERY WEBDRIVER CALL WOULD FAIL ON IT, QUIT INCLUDED,
+//      LEAKING CHROMEDRIVER AND CHROME. THE COMMAND IT CUT OFF LEFT THE SESSION IN AN UNKNOWN STATE, SO DROP IT
+        boolean interrupted = Thread.interrupted();
+        try {
+            if (broken || interrupted || closed || pooled.uses >= maxUses || !reset(pooled)) {
+                quit(pooled);
+                return;
+            }
+            pooled.lastReleased = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } finally {
+            permits.release();
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isHealthy(PooledDriver pooled) {
+        try {
+            pooled.driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            logger.debug("Discarding unhealthy browser session: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean reset(PooledDriver pooled) {
+        WebDriver driver = pooled.driver;
+        try {
+            try {
+                ((JavascriptExecutor) driver).executeScript("try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            } catch (Exception ignored) {}
+
+            if (driver instanceof ChromeDriver chromeDriver) {
+                chromeDriver.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            logger.debug("Failed to reset browser session: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void evictIdle() {
+        long threshold = System.currentTimeMillis() - idleTimeoutMs;
+        for (PooledDriver pooled : idle) {
+            if (pooled.lastReleased < threshold && idle.remove(pooled)) {
+                quit(pooled);
+            }
+        }
+    }
+
+    private void quit(PooledDriver pooled) {
+        try {
+            pooled.driver.quit();
+        } catch (Exception e) {
+            logger.debug("Error quitting driver: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        closed = true;
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+
+        PooledDriver pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            quit(pooled);
+        }
+    }
+
+    private static final class PooledDriver {
+        private final WebDriver driver;
+        private int uses;
+        private long lastReleased;
+        private List<String> blockedUrls = List.of();
+
+        private PooledDriver(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+
+    public final class Lease implements AutoCloseable {
+
+        private final PooledDriver pooled;
+        private boolean broken;
+        private boolean released;
+
+        private Lease(PooledDriver pooled) {
+            this.pooled = pooled;
+        }
+
+        public WebDriver driver() {
+            return pooled.driver;
+        }
+
+        /**
+         * Has the browser refuse requests matching {@code patterns} from now on. Applied through CDP
+         * {@code Network.setBlockedURLs}, and only when the list differs from the one already on the session.
+         */
+        public void blockUrls(List<String> patterns) {
+            if (patterns.equals(pooled.blockedUrls) || !(pooled.driver instanceof ChromeDriver chromeDriver)) return;
+            try {
+                chromeDriver.executeCdpCommand("Network.enable", Map.of());
+                chromeDriver.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", patterns));
+                pooled.blockedUrls = patterns;
+            } catch (Exception e) {
+                logger.debug("Could not set blocked URLs: {}", e.getMessage());
+            }
+        }
+
+        public void invalidate() {
+            broken = true;
+        }
+
+        @Override
+        public void close() {
+            if (released) return;
+            released = true;
+            release(pooled, broken);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.crl.hh.service.osint.health;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rolling per-site health: error rate drives a closed / open / half-open circuit,
+ * observed latency drives the timeouts handed to the HTTP and browser stages.
+ */
+@Component
+public class SiteHealthRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SiteHealthRegistry.class);
+
+    public enum Channel {
+        HTTP,
+        BROWSER
+    }
+
+    public enum CircuitState {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    @Value("${osint.health.window-size:50}")
+    private int windowSize;
+
+    @Value("${osint.health.min-calls:10}")
+    private int minCalls;
+
+    @Value("${osint.health.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${osint.health.open-duration-ms:60000}")
+    private long openDurationMs;
+
+    @Value("${osint.health.timeout-multiplier:2.0}")
+    private double timeoutMultiplier;
+
+    @Value("${osint.health.http.min-timeout-ms:2000}")
+    private long httpMinTimeoutMs;
+
+    @Value("${osint.health.http.max-timeout-ms:10000}")
+    private long httpMaxTimeoutMs;
+
+    @Value("${osint.health.browser.min-timeout-ms:5000}")
+    private long browserMinTimeoutMs;
+
+    @Value("${osint.health.browser.max-timeout-ms:15000}")
+    private long browserMaxTimeoutMs;
+
+    private final Map<String, SiteHealth> sites = new ConcurrentHashMap<>();
+
+    /**
+     * False while the site's circuit is open. In half-open state exactly one caller is let through as a probe.
+     */
+    public boolean allowRequest(String site) {
+        return health(site).allowRequest();
+    }
+
+    public void recordSuccess(String site, Channel channel, long latencyMs) {
+        health(site).record(channel, true, latencyMs);
+    }
+
+    public void recordFailure(String site, Channel channel, long latencyMs) {
+        health(site).record(channel, false, latencyMs);
+    }
+
+    public Duration timeout(String site, Channel channel) {
+        long min = channel == Channel.HTTP ? httpMinTimeoutMs : browserMinTimeoutMs;
+        long max = channel == Channel.HTTP ? httpMaxTimeoutMs : browserMaxTimeoutMs;
+
+        long p99 = health(site).p99(channel);
+        if (p99 < 0) return Duration.ofMillis(max);
+
+        long adaptive = (long) (p99 * timeoutMultiplier);
+        return Duration.ofMillis(Math.max(min, Math.min(max, adaptive)));
+    }
+
+    public CircuitState state(String site) {
+        return health(site).state();
+    }
+
+    /**
+     * Epoch millis of the last recorded check of {@code site}, 0 if it has never been checked.
+     */
+    public long lastCheckedAt(String site) {
+        return health(site).lastCheckedAt();
+    }
+
+    public Map<String, SiteHealth> getSites() {
+        return sites;
+    }
+
+    private SiteHealth health(String site) {
+        return sites.computeIfAbsent(site, SiteHealth::new);
+    }
+
+    public final class SiteHealth {
+
+        private final String site;
+        private final boolean[] outcomes = new boolean[windowSize];
+        private final long[] httpLatencies = new long[windowSize];
+        private final long[] browserLatencies = new long[windowSize];
+        private int outcomeCount;
+        private int outcomeNext;
+        private int failures;
+        private int httpCount;
+        private int httpNext;
+        private int browserCount;
+        private int browserNext;
+
+        private CircuitState state = CircuitState.CLOSED;
+        private long openedAt;
+        private long probeStartedAt;
+        private long lastCheckedAt;
+
+        private SiteHealth(String site) {
+            this.site = site;
+        }
+
+        public synchronized CircuitState state() {
+            return state;
+        }
+
+        public synchronized long lastCheckedAt() {
+            return lastCheckedAt;
+        }
+
+        public synchronized double failureRate() {
+            return outcomeCount == 0 ? 0 : (double) failures / outcomeCount;
+        }
+
+        private synchronized boolean allowRequest() {
+            long now = System.currentTimeMillis();
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (now - openedAt < openDurationMs) return false;
+                    state = CircuitState.HALF_OPEN;
+                    probeStartedAt = now;
+                    return true;
+                default:
+//                  A probe that never reported back (e.g. cancelled) must not wedge the circuit
+                    if (now - probeStartedAt < openDurationMs) return false;
+                    probeStartedAt = now;
+                    return true;
+            }
+        }
+
+        private synchronized void record(Channel channel, boolean success, long latencyMs) {
+            lastCheckedAt = System.currentTimeMillis();
+            if (success) {
+                if (channel == Channel.HTTP) {
+                    httpLatencies[httpNext] = latencyMs;
+                    httpNext = (httpNext + 1) % windowSize;
+                    httpCount = Math.min(httpCount + 1, windowSize);
+                } else {
+                    browserLatencies[browserNext] = latencyMs;
+                    browserNext = (browserNext + 1) % windowSize;
+                    browserCount = Math.min(browserCount + 1, windowSize);
+                }
+            }
+
+            if (state == CircuitState.HALF_OPEN) {
+                if (success) {
+                    logger.info("Circuit for {} closed after successful probe", site);
+                    state = CircuitState.CLOSED;
+                    outcomeCount = 0;
+                    outcomeNext = 0;
+                    failures = 0;
+                } else {
+                    state = CircuitState.OPEN;
+                    openedAt = System.currentTimeMillis();
+                }
+                return;
+            }
+
+            if (outcomeCount == windowSize && !outcomes[outcomeNext]) failures--;
+            outcomes[outcomeNext] = success;
+            if (!success) failures++;
+            outcomeNext = (outcomeNext + 1) % windowSize;
+            outcomeCount = Math.min(outcomeCount + 1, windowSize);
+
+            if (state == CircuitState.CLOSED && outcomeCount >= minCalls && failureRate() >= failureRateThreshold) {
+                logger.warn("Circuit for {} opened, failure rate {}", site, failureRate());
+                state = CircuitState.OPEN;
+                openedAt = System.currentTimeMillis();
+            }
+        }
+
+        private synchronized long p99(Channel channel) {
+            long[] latencies = channel == Channel.HTTP ? httpLatencies : browserLatencies;
+            int count = channel == Channel.HTTP ? httpCount : browserCount;
+            if (count < minCalls) return -1;
+
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(count * 0.99) - 1];
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.crl.hh.service.osint.http;
+
+/**
+ * What a {@link BodyScanSubscriber} saw of a response body.
+ *
+ * @param notFoundIndicator first not-found indicator in the visible text, or null
+ * @param usernameSeen      whether the username appeared in the visible text
+ * @param bytesRead         body bytes consumed before the scan stopped
+ * @param complete          whether the whole body was read
+ */
+public record BodyScan(String notFoundIndicator, boolean usernameSeen, long bytesRead, boolean complete) {
+
+    static final BodyScan SKIPPED = new BodyScan(null, false, 0, false);
+}
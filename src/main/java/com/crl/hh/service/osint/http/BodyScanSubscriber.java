@@ -0,0 +1,391 @@
+package com.crl.hh.service.osint.http;
+
+import com.crl.hh.matcher.IndicatorMatcher;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.*;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Decodes a response body chunk by chunk, drops markup the way a browser would not show it (tags including quoted
+ * attribute values, comments, and the contents of script, style and noscript elements), decodes numeric and common
+ * named character references, and runs the visible text through the not-found and username automata.
+ * The download is cancelled as soon as the outcome is settled:
+ * <ul>
+ *     <li>a not-found indicator matched,</li>
+ *     <li>the username was seen and {@code foundMarginChars} more visible characters brought no indicator,</li>
+ *     <li>or {@code maxBytes} were read.</li>
+ * </ul>
+ * Memory is two fixed buffers and a few automaton states, whatever the size of the page.
+ */
+public final class BodyScanSubscriber implements HttpResponse.BodySubscriber<BodyScan> {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final String[] RAW_TEXT_ELEMENTS = {"script", "style", "noscript"};
+    private static final int MAX_TAG_NAME = 8;
+    private static final int MAX_ENTITY = 10;
+    private static final Map<String, Character> NAMED_ENTITIES = Map.ofEntries(
+            Map.entry("amp", '&'), Map.entry("lt", '<'), Map.entry("gt", '>'), Map.entry("quot", '"'), Map.entry("apos", '\''),
+            Map.entry("nbsp", '\u00A0'), Map.entry("lsquo", '\u2018'), Map.entry("rsquo", '\u2019'), Map.entry("ldquo", '\u201C'),
+            Map.entry("rdquo", '\u201D'), Map.entry("ndash", '\u2013'), Map.entry("mdash", '\u2014'), Map.entry("hellip", '\u2026'),
+            Map.entry("laquo", '\u00AB'), Map.entry("raquo", '\u00BB'), Map.entry("copy", '\u00A9'));
+
+    private enum Mode {
+        TEXT,
+        ENTITY,
+        TAG,
+        COMMENT,
+        RAW_TEXT
+    }
+
+    private final CompletableFuture<BodyScan> result = new CompletableFuture<>();
+    private final CharsetDecoder decoder;
+    private final ByteBuffer input = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer output = CharBuffer.allocate(BUFFER_SIZE);
+    private final IndicatorMatcher notFoundMatcher;
+    private final IndicatorMatcher usernameMatcher;
+    private final long maxBytes;
+    private final int foundMarginChars;
+
+    private Flow.Subscription subscription;
+    private long bytesRead;
+    private long visibleChars;
+    private int notFoundState;
+    private int usernameState;
+    private String notFoundIndicator;
+    private long usernameSeenAt = -1;
+
+    private Mode mode = Mode.TEXT;
+    private final char[] tagName = new char[MAX_TAG_NAME + 1];
+    private int tagNameLength;
+    private boolean tagNameDone;
+    private int declarationDashes;
+    private boolean afterEquals;
+    private char quote;
+    private int commentDashes;
+    private String rawTextClose;
+    private int rawTextCloseMatched;
+    private final char[] entity = new char[MAX_ENTITY];
+    private int entityLength;
+
+    public BodyScanSubscriber(Charset charset, IndicatorMatcher notFoundMatcher, String username, long maxBytes, int foundMarginChars) {
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.notFoundMatcher = notFoundMatcher;
+        this.usernameMatcher = IndicatorMatcher.compile(List.of(username));
+        this.maxBytes = maxBytes;
+        this.foundMarginChars = foundMarginChars;
+        this.notFoundState = notFoundMatcher.initialState();
+        this.usernameState = usernameMatcher.initialState();
+    }
+
+    /**
+     * Scans 2xx bodies. Any other body is drained unscanned, which keeps the connection reusable.
+     */
+    public static HttpResponse.BodyHandler<BodyScan> handler(IndicatorMatcher notFoundMatcher, String username, long maxBytes, int foundMarginChars) {
+        return responseInfo -> {
+            int statusCode = responseInfo.statusCode();
+            if (statusCode < 200 || statusCode >= 300) return skipping();
+            return new BodyScanSubscriber(charset(responseInfo.headers()), notFoundMatcher, username, maxBytes, foundMarginChars);
+        };
+    }
+
+    @Override
+    public CompletionStage<BodyScan> getBody() {
+        return result;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+        if (result.isDone()) return;
+        try {
+            for (ByteBuffer buffer : buffers) {
+                if (consume(buffer)) {
+                    subscription.cancel();
+                    result.complete(scan(false));
+                    return;
+                }
+            }
+            subscription.request(1);
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            result.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        result.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (result.isDone()) return;
+        input.flip();
+        decoder.decode(input, output, true);
+        decoder.flush(output);
+        if (!drain() && mode == Mode.ENTITY) endEntity();
+        result.complete(scan(true));
+    }
+
+    /**
+     * Feeds one chunk through the decoder. True once the scan can stop.
+     */
+    private boolean consume(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            int take = (int) Math.min(Math.min(buffer.remaining(), input.remaining()), maxBytes - bytesRead);
+            ByteBuffer slice = buffer.slice(buffer.position(), take);
+            input.put(slice);
+            buffer.position(buffer.position() + take);
+            bytesRead += take;
+
+            input.flip();
+            decoder.decode(input, output, false);
+            input.compact();
+            if (drain() || bytesRead >= maxBytes) return true;
+        }
+        return false;
+    }
+
+    private boolean drain() {
+        output.flip();
+        try {
+            while (output.hasRemaining()) {
+                if (accept(output.get())) return true;
+            }
+            return false;
+        } finally {
+            output.compact();
+        }
+    }
+
+    private boolean accept(char c) {
+        switch (mode) {
+            case TEXT -> {
+                if (c == '<') {
+                    mode = Mode.TAG;
+                    tagNameLength = 0;
+                    tagNameDone = false;
+                    declarationDashes = -1;
+                    afterEquals = false;
+                    quote = 0;
+                    return visible(' ');
+                }
+                if (c == '&') {
+                    mode = Mode.ENTITY;
+                    entityLength = 0;
+                    return false;
+                }
+                return visible(c);
+            }
+            case ENTITY -> {
+                if (entityLength < MAX_ENTITY && continuesEntity(c)) {
+                    entity[entityLength++] = c;
+                    return false;
+                }
+                if (c == ';') {
+                    mode = Mode.TEXT;
+                    Character named = NAMED_ENTITIES.get(new String(entity, 0, entityLength));
+                    if (named != null) return visibleCodePoint(named);
+                    int numeric = numericEntity();
+                    if (numeric >= 0) return visibleCodePoint(numeric);
+                    return endEntity() || visible(';');
+                }
+                return endEntity() || accept(c);
+            }
+            case TAG -> {
+                if (!tagNameDone) {
+                    if (isAsciiLetter(c) && tagNameLength <= MAX_TAG_NAME) {
+                        tagName[tagNameLength++] = Character.toLowerCase(c);
+                        return false;
+                    }
+                    tagNameDone = true;
+                    if (tagNameLength == 0 && c == '!') {
+                        rawTextClose = null;
+                        declarationDashes = 0;
+                        return false;
+                    }
+                    rawTextClose = isWordChar(c) ? null : rawTextClose();
+                }
+//              "<!--" OPENS A COMMENT, ANY OTHER "<!" (DOCTYPE, CDATA) IS AN ORDINARY TAG
+                if (declarationDashes >= 0) {
+                    if (c == '-') {
+                        if (++declarationDashes < 2) return false;
+                        mode = Mode.COMMENT;
+                        commentDashes = 2;
+                        return false;
+                    }
+                    declarationDashes = -1;
+                }
+//              A '>' INSIDE A QUOTED ATTRIBUTE VALUE DOES NOT END THE TAG
+                if (quote != 0) {
+                    if (c == quote) quote = 0;
+                    return false;
+                }
+                if (afterEquals && (c == '"' || c == '\'')) {
+                    quote = c;
+                    afterEquals = false;
+                    return false;
+                }
+                if (c == '=') {
+                    afterEquals = true;
+                } else if (!Character.isWhitespace(c)) {
+                    afterEquals = false;
+                }
+                if (c == '>') {
+                    mode = rawTextClose == null ? Mode.TEXT : Mode.RAW_TEXT;
+                    rawTextCloseMatched = 0;
+                }
+                return false;
+            }
+            case COMMENT -> {
+//              "<!-->" AND "<!--->" CLOSE AT ONCE, AS IN BROWSERS
+                if (c == '>' && commentDashes >= 2) {
+                    mode = Mode.TEXT;
+                } else {
+                    commentDashes = c == '-' ? commentDashes + 1 : 0;
+                }
+                return false;
+            }
+            default -> {
+                if (rawTextCloseMatched < rawTextClose.length()) {
+                    if (Character.toLowerCase(c) == rawTextClose.charAt(rawTextCloseMatched)) {
+                        rawTextCloseMatched++;
+                    } else {
+                        rawTextCloseMatched = c == '<' ? 1 : 0;
+                    }
+                } else if (c == '>') {
+                    mode = Mode.TEXT;
+                    return visible(' ');
+                } else if (!Character.isWhitespace(c)) {
+                    rawTextCloseMatched = c == '<' ? 1 : 0;
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Leaves an unterminated reference: numeric ones still decode, as in browsers, anything else is shown as written.
+     */
+    private boolean endEntity() {
+        mode = Mode.TEXT;
+        int numeric = numericEntity();
+        if (numeric >= 0) return visibleCodePoint(numeric);
+        if (visible('&')) return true;
+        for (int i = 0; i < entityLength; i++) {
+            if (visible(entity[i])) return true;
+        }
+        return false;
+    }
+
+    private boolean continuesEntity(char c) {
+        if (entityLength == 0) return c == '#' || isWordChar(c);
+        if (entity[0] != '#') return isWordChar(c);
+        if (entityLength == 1) return (c >= '0' && c <= '9') || c == 'x' || c == 'X';
+        boolean hex = entity[1] == 'x' || entity[1] == 'X';
+        return c < 128 && Character.digit(c, hex ? 16 : 10) >= 0;
+    }
+
+    /**
+     * Code point of a buffered {@code #ddd} or {@code #xhh} reference, -1 if it is not one. Invalid code points become U+FFFD.
+     */
+    private int numericEntity() {
+        if (entityLength < 2 || entity[0] != '#') return -1;
+        boolean hex = entity[1] == 'x' || entity[1] == 'X';
+        int start = hex ? 2 : 1;
+        if (start == entityLength) return -1;
+
+        int codePoint = 0;
+        for (int i = start; i < entityLength; i++) {
+            int digit = Character.digit(entity[i], hex ? 16 : 10);
+            if (digit < 0) return -1;
+            codePoint = Math.min(codePoint * (hex ? 16 : 10) + digit, Character.MAX_CODE_POINT + 1);
+        }
+        if (codePoint == 0 || codePoint > Character.MAX_CODE_POINT || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+            return '\uFFFD';
+        }
+        return codePoint;
+    }
+
+//  A NO-BREAK SPACE READS AS A SPACE, INDICATORS ARE WRITTEN WITH PLAIN ONES
+    private boolean visibleCodePoint(int codePoint) {
+        if (codePoint == '\u00A0') return visible(' ');
+        for (char c : Character.toChars(codePoint)) {
+            if (visible(c)) return true;
+        }
+        return false;
+    }
+
+    private boolean visible(char c) {
+        notFoundState = notFoundMatcher.next(notFoundState, c);
+        int match = notFoundMatcher.matchAt(notFoundState);
+        if (match != IndicatorMatcher.NO_MATCH) {
+            notFoundIndicator = notFoundMatcher.getIndicator(match);
+            return true;
+        }
+
+        if (usernameSeenAt < 0) {
+            usernameState = usernameMatcher.next(usernameState, c);
+            if (usernameMatcher.matchAt(usernameState) != IndicatorMatcher.NO_MATCH) usernameSeenAt = visibleChars;
+        }
+        visibleChars++;
+
+//      NOT-FOUND PAGES OFTEN ECHO THE USERNAME, SO A MATCH ONLY SETTLES ONCE THE TEXT AROUND IT IS CLEAN
+        return usernameSeenAt >= 0 && visibleChars - usernameSeenAt > foundMarginChars;
+    }
+
+    private String rawTextClose() {
+        String name = new String(tagName, 0, tagNameLength);
+        for (String element : RAW_TEXT_ELEMENTS) {
+            if (element.equals(name)) return "</" + element;
+        }
+        return null;
+    }
+
+    private BodyScan scan(boolean complete) {
+        return new BodyScan(notFoundIndicator, usernameSeenAt >= 0, bytesRead, complete);
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isWordChar(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    static Charset charset(HttpHeaders headers) {
+        String contentType = headers.firstValue("Content-Type").orElse("");
+        for (String parameter : contentType.split(";")) {
+            String[] pair = parameter.trim().split("=", 2);
+            if (pair.length == 2 && pair[0].trim().toLowerCase(Locale.ROOT).equals("charset")) {
+                try {
+                    return Charset.forName(pair[1].trim().replace("\"", ""));
+                } catch (IllegalArgumentException e) {
+                    break;
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static HttpResponse.BodySubscriber<BodyScan> skipping() {
+        return HttpResponse.BodySubscribers.replacing(BodyScan.SKIPPED);
+    }
+}
@@ -0,0 +1,74 @@
+package com.crl.hh.service.osint.http;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-URL ETag / Last-Modified validators together with the verdict derived from the response that carried them.
+ * A request built through {@link #conditional} lets the server answer 304, and {@link #reuse} then hands back
+ * the earlier verdict instead of re-reading the body.
+ */
+public final class ConditionalRequestCache<V> {
+
+    private final Cache<String, Validated<V>> entries;
+    private final AtomicLong revalidated = new AtomicLong();
+
+    public ConditionalRequestCache(long maxSize, Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public HttpRequest.Builder conditional(String url, HttpRequest.Builder request) {
+        Validated<V> entry = entries.getIfPresent(url);
+        if (entry == null) return request;
+        if (entry.etag() != null) request.header("If-None-Match", entry.etag());
+        if (entry.lastModified() != null) request.header("If-Modified-Since", entry.lastModified());
+        return request;
+    }
+
+    /**
+     * The remembered verdict if the server answered 304 Not Modified, otherwise null.
+     */
+    public V reuse(String url, HttpResponse<?> response) {
+        if (response.statusCode() != 304) return null;
+        Validated<V> entry = entries.getIfPresent(url);
+        if (entry == null) return null;
+        revalidated.incrementAndGet();
+        return entry.verdict();
+    }
+
+    public void remember(String url, HttpResponse<?> response, V verdict) {
+        int statusCode = response.statusCode();
+        Optional<String> etag = response.headers().firstValue("ETag");
+        Optional<String> lastModified = response.headers().firstValue("Last-Modified");
+
+//      ONLY A 2XX REPRESENTATION CAN BE REVALIDATED
+        if (statusCode < 200 || statusCode >= 300 || (etag.isEmpty() && lastModified.isEmpty())) {
+            entries.invalidate(url);
+            return;
+        }
+        entries.put(url, new Validated<>(etag.orElse(null), lastModified.orElse(null), verdict));
+    }
+
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    public long revalidated() {
+        return revalidated.get();
+    }
+
+    private record Validated<V>(String etag, String lastModified, V verdict) {}
+}
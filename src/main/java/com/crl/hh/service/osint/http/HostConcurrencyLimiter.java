@@ -0,0 +1,67 @@
+package com.crl.hh.service.osint.http;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class HostConcurrencyLimiter {
+
+    @Value("${osint.http.per-host-limit:4}")
+    private int perHostLimit;
+
+    @Value("${osint.http.host-permit-timeout-ms:10000}")
+    private long permitTimeoutMs;
+
+    private final Map<String, Semaphore> semaphores = new ConcurrentHashMap<>();
+
+    public Permit acquire(URI uri) throws HttpTimeoutException, InterruptedException {
+        String host = host(uri);
+        Semaphore semaphore = semaphore(host);
+
+        if (!semaphore.tryAcquire(permitTimeoutMs, TimeUnit.MILLISECONDS)) {
+            throw new HttpTimeoutException("No connection slot to " + host + " within " + permitTimeoutMs + " ms");
+        }
+        return new Permit(semaphore);
+    }
+
+    /**
+     * A permit only if one is free right now, otherwise {@code null}. For background traffic that must not queue behind real checks.
+     */
+    public Permit tryAcquire(URI uri) {
+        Semaphore semaphore = semaphore(host(uri));
+        return semaphore.tryAcquire() ? new Permit(semaphore) : null;
+    }
+
+    private Semaphore semaphore(String host) {
+        return semaphores.computeIfAbsent(host, h -> new Semaphore(perHostLimit, true));
+    }
+
+    private static String host(URI uri) {
+        return String.valueOf(uri.getHost()).toLowerCase(Locale.ROOT);
+    }
+
+    public static final class Permit implements AutoCloseable {
+
+        private final Semaphore semaphore;
+        private boolean released;
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void close() {
+            if (released) return;
+            released = true;
+            semaphore.release();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.crl.hh.service.osint.http;
+
+import com.crl.hh.repository.models.SiteEntity;
+import com.crl.hh.repository.models.enums.SiteStatus;
+import com.crl.hh.service.osint.catalogue.CatalogueSnapshot;
+import com.crl.hh.service.osint.catalogue.SiteCatalogue;
+import com.crl.hh.service.osint.health.SiteHealthRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The shared probe {@link HttpClient}. It negotiates HTTP/2 where the site offers it, so all probes to one host
+ * multiplex over a single connection. Connections to every catalogue host are opened at startup and after each
+ * catalogue reload, and kept from idling out while their sites are being checked. Host names are re-resolved on
+ * the same schedule, so the JVM address cache stays populated and probes do not wait on DNS. Warm-ups skip hosts
+ * whose circuit is not closed and only take a host permit that is free at once.
+ */
+@Component
+@RequiredArgsConstructor
+public class HttpProbeClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpProbeClient.class);
+
+    private final SiteCatalogue siteCatalogue;
+    private final HostConcurrencyLimiter hostConcurrencyLimiter;
+    private final SiteHealthRegistry siteHealthRegistry;
+
+    @Value("${osint.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${osint.http.keep-warm-interval-ms:25000}")
+    private long keepWarmIntervalMs;
+
+    @Value("${osint.http.warm-up-timeout-ms:5000}")
+    private long warmUpTimeoutMs;
+
+    @Value("${osint.http.keep-warm-idle-ms:300000}")
+    private long keepWarmIdleMs;
+
+    @Value("${osint.http.conditional.max-size:10000}")
+    private long conditionalMaxSize;
+
+    @Value("${osint.http.conditional.ttl-seconds:3600}")
+    private long conditionalTtlSeconds;
+
+    private HttpClient httpClient;
+    private ConditionalRequestCache<StatusProbe> statusCodes;
+    private ConditionalRequestCache<SiteStatus> bodyVerdicts;
+    private ScheduledExecutorService warmer;
+    private volatile Map<URI, List<String>> origins = Map.of();
+    private final AtomicLong warmUps = new AtomicLong();
+    private final AtomicLong warmUpFailures = new AtomicLong();
+    private final AtomicLong warmUpsSkipped = new AtomicLong();
+    private final AtomicLong dnsFailures = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+
+        Duration ttl = Duration.ofSeconds(conditionalTtlSeconds);
+        statusCodes = new ConditionalRequestCache<>(conditionalMaxSize, ttl);
+        bodyVerdicts = new ConditionalRequestCache<>(conditionalMaxSize, ttl);
+
+        warmer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "http-probe-warmer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        siteCatalogue.addListener(this::catalogueChanged);
+        catalogueChanged(siteCatalogue.current());
+        if (keepWarmIntervalMs > 0) {
+            warmer.scheduleWithFixedDelay(() -> warmUp(true), keepWarmIntervalMs, keepWarmIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException {
+        return httpClient.send(request, bodyHandler);
+    }
+
+    /**
+     * Validators and outcomes of earlier status-code probes.
+     */
+    public ConditionalRequestCache<StatusProbe> statusCodes() {
+        return statusCodes;
+    }
+
+    /**
+     * Validators and verdicts of earlier body probes. Cleared on catalogue reload, since the verdict depends on the indicators.
+     */
+    public ConditionalRequestCache<SiteStatus> bodyVerdicts() {
+        return bodyVerdicts;
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("origins", (long) origins.size());
+        stats.put("warmUps", warmUps.get());
+        stats.put("warmUpFailures", warmUpFailures.get());
+        stats.put("warmUpsSkipped", warmUpsSkipped.get());
+        stats.put("dnsFailures", dnsFailures.get());
+        stats.put("statusCodeValidators", statusCodes.size());
+        stats.put("statusCodeRevalidations", statusCodes.revalidated());
+        stats.put("bodyValidators", bodyVerdicts.size());
+        stats.put("bodyRevalidations", bodyVerdicts.revalidated());
+        return stats;
+    }
+
+    private void catalogueChanged(CatalogueSnapshot snapshot) {
+        Map<URI, List<String>> next = new LinkedHashMap<>();
+        for (SiteEntity site : snapshot.sites()) {
+            URI uri = URI.create(site.url("probe"));
+            if (uri.getHost() == null) continue;
+            next.computeIfAbsent(URI.create(uri.getScheme() + "://" + uri.getRawAuthority() + "/"), o -> new ArrayList<>()).add(site.getName());
+        }
+        origins = Collections.unmodifiableMap(next);
+        bodyVerdicts.clear();
+        warmer.execute(() -> warmUp(false));
+    }
+
+    /**
+     * Resolves catalogue hosts and sends a HEAD to their root, which opens (or keeps alive) the pooled connection.
+     * A keep-warm pass only touches hosts with a real check within {@code osint.http.keep-warm-idle-ms}.
+     */
+    void warmUp(boolean keepWarm) {
+        long activeSince = System.currentTimeMillis() - keepWarmIdleMs;
+        for (Map.Entry<URI, List<String>> entry : origins.entrySet()) {
+            URI origin = entry.getKey();
+            List<String> sites = entry.getValue();
+            if (sites.stream().anyMatch(site -> siteHealthRegistry.state(site) != SiteHealthRegistry.CircuitState.CLOSED)
+                    || keepWarm && sites.stream().allMatch(site -> siteHealthRegistry.lastCheckedAt(site) < activeSince)) {
+                warmUpsSkipped.incrementAndGet();
+                continue;
+            }
+
+//          WARM-UPS NEVER WAIT FOR A SLOT, A BUSY HOST HAS A LIVE CONNECTION ANYWAY
+            HostConcurrencyLimiter.Permit permit = hostConcurrencyLimiter.tryAcquire(origin);
+            if (permit == null) {
+                warmUpsSkipped.incrementAndGet();
+                continue;
+            }
+
+            try {
+                InetAddress.getAllByName(origin.getHost());
+            } catch (UnknownHostException e) {
+                permit.close();
+                dnsFailures.incrementAndGet();
+                logger.debug("Could not resolve {}: {}", origin.getHost(), e.getMessage());
+                continue;
+            }
+
+            HttpRequest head = HttpRequest.newBuilder(origin)
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .timeout(Duration.ofMillis(warmUpTimeoutMs))
+                    .build();
+            httpClient.sendAsync(head, HttpResponse.BodyHandlers.discarding()).whenComplete((response, e) -> {
+                permit.close();
+                if (e == null) {
+                    warmUps.incrementAndGet();
+                } else {
+                    warmUpFailures.incrementAndGet();
+                    logger.debug("Warm-up of {} failed: {}", origin, e.getMessage());
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (warmer != null) {
+            warmer.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.crl.hh.service.osint.http;
+
+/**
+ * Outcome of a status-code probe.
+ *
+ * @param statusCode status of the final response
+ * @param redirected whether redirects led away from the probed URL
+ */
+public record StatusProbe(int statusCode, boolean redirected) {
+}
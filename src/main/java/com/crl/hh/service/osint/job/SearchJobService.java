@@ -0,0 +1,236 @@
+package com.crl.hh.service.osint.job;
+
+import com.crl.hh.repository.SearchJobRepository;
+import com.crl.hh.repository.SearchJobResultRepository;
+import com.crl.hh.repository.models.SearchJob;
+import com.crl.hh.repository.models.SearchJobResult;
+import com.crl.hh.repository.models.dto.SearchJobView;
+import com.crl.hh.repository.models.dto.SiteResult;
+import com.crl.hh.repository.models.enums.JobStatus;
+import com.crl.hh.service.osint.OSINTService;
+import com.crl.hh.service.osint.catalogue.SiteCatalogue;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Searches that outlive the request that started them. Jobs and their per-site verdicts live in Postgres;
+ * verdicts are buffered and written in batches. A job whose node stops heartbeating is claimed by another
+ * node (or the same one after a restart), which only runs the (username, site) pairs without a stored verdict.
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchJobService.class);
+
+    private static final String INSERT_RESULT = "INSERT INTO search_job_results (job_id, username, site, url, status, latency_ms, checked_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (job_id, username, site) DO NOTHING";
+    private static final String SELECT_DONE_PAIRS = "SELECT username, site FROM search_job_results WHERE job_id = ?";
+
+    private final OSINTService osintService;
+    private final SiteCatalogue siteCatalogue;
+    private final SearchJobRepository searchJobRepository;
+    private final SearchJobResultRepository searchJobResultRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${osint.jobs.max-usernames:1000}")
+    private int maxUsernames;
+
+    @Value("${osint.jobs.max-running:4}")
+    private int maxRunning;
+
+    @Value("${osint.jobs.lease-ms:30000}")
+    private long leaseMs;
+
+    @Value("${osint.jobs.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${osint.jobs.results-page-size:1000}")
+    private int resultsPageSize;
+
+    private final Map<UUID, CompletableFuture<Void>> running = new ConcurrentHashMap<>();
+    private final Queue<PendingResult> unflushed = new ConcurrentLinkedQueue<>();
+
+    public SearchJobView submit(List<String> usernames, String owner) {
+        List<String> normalized = OSINTService.normalizeUsernames(usernames, maxUsernames);
+        LocalDateTime now = LocalDateTime.now();
+
+        SearchJob job = new SearchJob();
+        job.setId(UUID.randomUUID());
+        job.setOwner(owner);
+        job.setUsernames(String.join("\n", normalized));
+        job.setStatus(JobStatus.QUEUED);
+        job.setTotal(normalized.size() * siteCatalogue.current().sites().size());
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+        searchJobRepository.save(job);
+
+        tryStart(job.getId());
+        return view(job, List.of(), null);
+    }
+
+    public Optional<SearchJobView> get(UUID id, String owner, Long after) {
+        return searchJobRepository.findByIdAndOwner(id, owner).map(job -> {
+            List<SearchJobResult> results = searchJobResultRepository.findByJobIdAndIdGreaterThanOrderById(
+                    id, after == null ? 0 : after, Limit.of(resultsPageSize));
+            Long cursor = results.isEmpty() ? after : results.get(results.size() - 1).getId();
+            return view(job, results, cursor);
+        });
+    }
+
+    public boolean cancel(UUID id, String owner) {
+        if (searchJobRepository.cancel(id, owner, LocalDateTime.now()) == 0) return false;
+        Optional.ofNullable(running.get(id)).ifPresent(future -> future.cancel(true));
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${osint.jobs.flush-interval-ms:500}")
+    public synchronized void flush() {
+        List<PendingResult> batch = new ArrayList<>();
+        PendingResult next;
+        while ((next = unflushed.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) return;
+
+        int[][] counts;
+        try {
+            counts = jdbcTemplate.batchUpdate(INSERT_RESULT, batch, flushBatchSize, (ps, pending) -> {
+                SiteResult result = pending.result();
+                ps.setObject(1, pending.jobId());
+                ps.setString(2, result.username());
+                ps.setString(3, result.site());
+                ps.setString(4, result.url());
+                ps.setString(5, result.status().name());
+                ps.setLong(6, result.latencyMs());
+                ps.setObject(7, pending.checkedAt());
+            });
+        } catch (DataAccessException e) {
+            logger.warn("Failed to persist {} job results, retrying on next flush: {}", batch.size(), e.getMessage());
+            unflushed.addAll(batch);
+            return;
+        }
+
+//      COUNT ONLY ROWS THAT WERE ACTUALLY INSERTED, A RESUMED JOB MAY REDELIVER A VERDICT
+        Map<UUID, Integer> inserted = new HashMap<>();
+        int index = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    inserted.merge(batch.get(index).jobId(), 1, Integer::sum);
+                }
+                index++;
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        inserted.forEach((jobId, delta) -> searchJobRepository.addCompleted(jobId, delta, now));
+    }
+
+    @Scheduled(fixedDelayString = "${osint.jobs.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        if (running.isEmpty()) return;
+
+        Set<UUID> ids = Set.copyOf(running.keySet());
+        searchJobRepository.heartbeat(ids, LocalDateTime.now());
+//      CANCELLATIONS MADE THROUGH ANOTHER NODE
+        for (UUID id : searchJobRepository.findCancelled(ids)) {
+            Optional.ofNullable(running.get(id)).ifPresent(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Picks up queued jobs and jobs abandoned by a node that stopped heartbeating, up to {@code osint.jobs.max-running}.
+     */
+    @Scheduled(fixedDelayString = "${osint.jobs.claim-interval-ms:5000}")
+    public void claimJobs() {
+        int capacity = maxRunning - running.size();
+        if (capacity <= 0) return;
+
+        LocalDateTime staleBefore = LocalDateTime.now().minusNanos(leaseMs * 1_000_000);
+        for (UUID id : searchJobRepository.findClaimable(List.of(JobStatus.QUEUED, JobStatus.RUNNING), staleBefore, Limit.of(capacity))) {
+            tryStart(id);
+        }
+    }
+
+    private void tryStart(UUID id) {
+        if (running.size() >= maxRunning || running.containsKey(id)) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        if (searchJobRepository.claim(id, now, now.minusNanos(leaseMs * 1_000_000)) == 0) return;
+        searchJobRepository.findById(id).ifPresent(this::start);
+    }
+
+    private void start(SearchJob job) {
+        UUID id = job.getId();
+        List<String> usernames = job.getUsernames().isEmpty() ? List.of() : List.of(job.getUsernames().split("\n"));
+
+        Set<String> done = new HashSet<>();
+        jdbcTemplate.query(SELECT_DONE_PAIRS, rs -> {
+            done.add(pairKey(rs.getString("username"), rs.getString("site")));
+        }, id);
+
+        int total = usernames.size() * siteCatalogue.current().sites().size();
+        if (total != job.getTotal()) {
+            searchJobRepository.updateTotal(id, total, LocalDateTime.now());
+        }
+        if (!done.isEmpty()) {
+            logger.info("Resuming search job {} with {} checks already done", id, done.size());
+        }
+
+        CompletableFuture<Void> future = osintService.checkAll(usernames,
+                (username, site) -> done.contains(pairKey(username, site.getName())),
+                result -> unflushed.add(new PendingResult(id, result, LocalDateTime.now())));
+        running.put(id, future);
+
+        future.whenComplete((r, e) -> {
+            running.remove(id);
+            if (future.isCancelled()) return;
+            if (e != null) {
+                logger.error("Search job {} failed, it will be retried once its lease expires: {}", id, e.getMessage());
+                return;
+            }
+            flush();
+            searchJobRepository.finish(id, JobStatus.COMPLETED, LocalDateTime.now());
+        });
+    }
+
+    private static String pairKey(String username, String site) {
+        return username + '\u0000' + site;
+    }
+
+    private static SearchJobView view(SearchJob job, List<SearchJobResult> results, Long cursor) {
+        List<SiteResult> siteResults = results.stream()
+                .map(result -> new SiteResult(result.getUsername(), result.getSite(), result.getUrl(), result.getStatus(),
+                        result.getLatencyMs() == null ? 0 : result.getLatencyMs()))
+                .toList();
+        return new SearchJobView(job.getId(), job.getStatus(), job.getTotal(), job.getCompleted(),
+                job.getCreatedAt(), job.getUpdatedAt(), siteResults, cursor);
+    }
+
+    /**
+     * Stops local work without touching job state; the jobs stay RUNNING and are claimed again once their lease expires.
+     */
+    @PreDestroy
+    public void cleanup() {
+        running.values().forEach(future -> future.cancel(true));
+        flush();
+    }
+
+    private record PendingResult(UUID jobId, SiteResult result, LocalDateTime checkedAt) {
+    }
+}
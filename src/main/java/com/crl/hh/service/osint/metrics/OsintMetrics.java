@@ -0,0 +1,71 @@
+package com.crl.hh.service.osint.metrics;
+
+import com.crl.hh.repository.models.enums.SiteStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class OsintMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> verdictCounters = new ConcurrentHashMap<>();
+
+    private final AtomicInteger queuedChecks = new AtomicInteger();
+    private final AtomicInteger inFlightSearches = new AtomicInteger();
+
+    public OsintMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("osint.executor.queue.depth", queuedChecks, AtomicInteger::get)
+                .description("Site checks submitted but not yet started")
+                .register(meterRegistry);
+        Gauge.builder("osint.searches.in.flight", inFlightSearches, AtomicInteger::get)
+                .description("Searches currently waiting on site checks")
+                .register(meterRegistry);
+    }
+
+    public void recordStage(String site, String stage, long startNanos) {
+        stageTimers.computeIfAbsent(site + '\u0000' + stage, key -> Timer.builder("osint.check.stage")
+                        .description("Time spent in one stage of a site check")
+                        .tag("site", site)
+                        .tag("stage", stage)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordVerdict(String site, SiteStatus status) {
+        verdictCounters.computeIfAbsent(site + '\u0000' + status, key -> Counter.builder("osint.check.verdict")
+                        .description("Fresh (uncached) site check verdicts")
+                        .tag("site", site)
+                        .tag("verdict", status.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    public void checkQueued() {
+        queuedChecks.incrementAndGet();
+    }
+
+    public void checkStarted() {
+        queuedChecks.decrementAndGet();
+    }
+
+    public void searchStarted() {
+        inFlightSearches.incrementAndGet();
+    }
+
+    public void searchFinished() {
+        inFlightSearches.decrementAndGet();
+    }
+}
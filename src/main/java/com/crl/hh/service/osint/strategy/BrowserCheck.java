@@ -0,0 +1,118 @@
+package com.crl.hh.service.osint.strategy;
+
+import com.crl.hh.matcher.IndicatorMatcher;
+import com.crl.hh.repository.models.SiteEntity;
+import com.crl.hh.service.osint.driver.PageReadiness;
+import com.crl.hh.service.osint.metrics.OsintMetrics;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One rendered profile page handed to a {@link SiteCheckStrategy}, with timed helpers for waiting and reading it.
+ */
+public final class BrowserCheck {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserCheck.class);
+    private static final String BODY_TEXT_SCRIPT = "return document.body ? document.body.innerText : '';";
+
+    private final SiteEntity site;
+    private final String url;
+    private final String username;
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final PageReadiness.Settle settle;
+    private final boolean inPageVerdict;
+    private final IndicatorMatcher notFoundMatcher;
+    private final OsintMetrics osintMetrics;
+    private PageReadiness.Signal readiness;
+
+    public BrowserCheck(SiteEntity site, String url, String username, WebDriver driver, Duration timeout, PageReadiness.Settle settle,
+                        boolean inPageVerdict, IndicatorMatcher sharedNotFoundMatcher, OsintMetrics osintMetrics) {
+        this.site = site;
+        this.url = url;
+        this.username = username;
+        this.driver = driver;
+        this.timeout = timeout;
+        this.settle = settle;
+        this.inPageVerdict = inPageVerdict;
+        this.notFoundMatcher = site.notFoundMatcher(sharedNotFoundMatcher);
+        this.osintMetrics = osintMetrics;
+    }
+
+    public SiteEntity site() {
+        return site;
+    }
+
+    public WebDriver driver() {
+        return driver;
+    }
+
+    /**
+     * Waits once for the page to settle: {@code selector} present, a not-found indicator visible, a redirect,
+     * the page going quiet, or the page staying busy for too long. Timed as {@code wait_ready}.
+     */
+    public PageReadiness.Signal awaitReady(String selector) {
+        long startedAt = System.nanoTime();
+        try {
+            readiness = PageReadiness.await(driver, selector, notFoundMatcher.getIndicators(), timeout, settle);
+            logger.debug("{} ready on {}", url, readiness);
+            return readiness;
+        } finally {
+            osintMetrics.recordStage(site.getName(), "wait_ready", startedAt);
+        }
+    }
+
+    /**
+     * What {@link #awaitReady} settled on, null before it ran.
+     */
+    public PageReadiness.Signal readiness() {
+        return readiness;
+    }
+
+    /**
+     * Indicators, username and {@code selector} (may be null) evaluated against the settled page. With
+     * {@code osint.driver.verdict.in-page} the site's verdict script does it inside the browser and only the
+     * small result crosses the wire; otherwise the rendered text is fetched and scanned here. Timed as
+     * {@code verdict}.
+     */
+    public PageVerdict verdict(String selector) {
+        long startedAt = System.nanoTime();
+        try {
+            PageVerdict verdict = inPageVerdict ? evaluateInPage(selector) : evaluateHere(selector);
+            if (verdict.notFound()) logger.debug("Not-found indicator \"{}\" matched for {}", verdict.notFoundIndicator(), url);
+            return verdict;
+        } finally {
+            osintMetrics.recordStage(site.getName(), "verdict", startedAt);
+        }
+    }
+
+    private PageVerdict evaluateInPage(String selector) {
+        Object result = ((JavascriptExecutor) driver).executeScript(VerdictScripts.forMatcher(notFoundMatcher),
+                selector, username.toLowerCase(Locale.ROOT));
+        if (!(result instanceof Map<?, ?> verdict)) {
+            throw new IllegalStateException("Verdict script returned " + result);
+        }
+
+        int indicator = ((Number) verdict.get("indicator")).intValue();
+        return new PageVerdict(
+                indicator < 0 ? null : notFoundMatcher.getIndicator(indicator),
+                Boolean.TRUE.equals(verdict.get("username")),
+                Boolean.TRUE.equals(verdict.get("selector")));
+    }
+
+    private PageVerdict evaluateHere(String selector) {
+        Object rendered = ((JavascriptExecutor) driver).executeScript(BODY_TEXT_SCRIPT);
+        String text = rendered == null ? "" : rendered.toString();
+        return new PageVerdict(
+                notFoundMatcher.findFirst(text),
+                text.toLowerCase(Locale.ROOT).contains(username.toLowerCase(Locale.ROOT)),
+                selector != null && !driver.findElements(By.cssSelector(selector)).isEmpty());
+    }
+}
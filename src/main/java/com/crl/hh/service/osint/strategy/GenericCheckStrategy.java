@@ -0,0 +1,22 @@
+package com.crl.hh.service.osint.strategy;
+
+import com.crl.hh.repository.models.enums.CheckStrategy;
+import com.crl.hh.repository.models.enums.SiteStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the profile as absent if the settled page's text carries a not-found indicator, found otherwise.
+ */
+@Component
+public class GenericCheckStrategy implements SiteCheckStrategy {
+
+    @Override
+    public CheckStrategy type() {
+        return CheckStrategy.GENERIC;
+    }
+
+    @Override
+    public SiteStatus check(BrowserCheck check) {
+        return check.verdict(null).notFound() ? SiteStatus.ABSENT : SiteStatus.FOUND;
+    }
+}
@@ -0,0 +1,15 @@
+package com.crl.hh.service.osint.strategy;
+
+/**
+ * The facts a strategy decides on, read from the settled page in one go.
+ *
+ * @param notFoundIndicator first not-found indicator in the visible text, or null
+ * @param usernameSeen      whether the visible text contains the username
+ * @param selectorPresent   whether the requested selector matched, false when none was requested
+ */
+public record PageVerdict(String notFoundIndicator, boolean usernameSeen, boolean selectorPresent) {
+
+    public boolean notFound() {
+        return notFoundIndicator != null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.crl.hh.service.osint.strategy;
+
+import com.crl.hh.repository.models.SiteEntity;
+import com.crl.hh.repository.models.enums.CheckStrategy;
+import com.crl.hh.repository.models.enums.SiteStatus;
+import com.crl.hh.service.osint.driver.PageReadiness;
+import org.springframework.stereotype.Component;
+
+/**
+ * The profile exists only if {@code elementSelector} renders. The page is ready as soon as the element appears;
+ * if it settles any other way (not-found indicator, quiet, timeout) without the element, the profile is absent.
+ */
+@Component
+public class ProfileElementCheckStrategy implements SiteCheckStrategy {
+
+    @Override
+    public CheckStrategy type() {
+        return CheckStrategy.PROFILE_ELEMENT;
+    }
+
+    @Override
+    public String readySelector(SiteEntity site) {
+        return site.getElementSelector();
+    }
+
+    @Override
+    public SiteStatus check(BrowserCheck check) {
+        if (check.readiness() == PageReadiness.Signal.SELECTOR) return SiteStatus.FOUND;
+        return check.verdict(check.site().getElementSelector()).selectorPresent() ? SiteStatus.FOUND : SiteStatus.ABSENT;
+    }
+}
@@ -0,0 +1,36 @@
+package com.crl.hh.service.osint.strategy;
+
+import com.crl.hh.repository.models.enums.CheckStrategy;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dispatch table from {@link CheckStrategy} to its implementation, built once at startup.
+ * Fails fast if a strategy has no implementation or two beans claim the same one.
+ */
+@Component
+public class SiteCheckStrategies {
+
+    private final Map<CheckStrategy, SiteCheckStrategy> strategies = new EnumMap<>(CheckStrategy.class);
+
+    public SiteCheckStrategies(List<SiteCheckStrategy> implementations) {
+        for (SiteCheckStrategy strategy : implementations) {
+            if (strategies.put(strategy.type(), strategy) != null) {
+                throw new IllegalStateException("Duplicate check strategy for " + strategy.type());
+            }
+        }
+
+        List<CheckStrategy> missing = Arrays.stream(CheckStrategy.values()).filter(type -> !strategies.containsKey(type)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("No implementation for check strategies " + missing);
+        }
+    }
+
+    public SiteCheckStrategy get(CheckStrategy type) {
+        return strategies.get(type);
+    }
+}
@@ -0,0 +1,28 @@
+package com.crl.hh.service.osint.strategy;
+
+import com.crl.hh.repository.models.SiteEntity;
+import com.crl.hh.repository.models.enums.CheckStrategy;
+import com.crl.hh.repository.models.enums.SiteStatus;
+
+/**
+ * Decides a browser check once the profile page has been navigated to, has settled and passed the URL check.
+ * Implementations are stateless beans, selected per site through {@link SiteCheckStrategies}.
+ */
+public interface SiteCheckStrategy {
+
+    CheckStrategy type();
+
+    /**
+     * Element whose appearance means the page is ready to be judged, or null to settle on indicators, redirects
+     * and quiet alone.
+     */
+    default String readySelector(SiteEntity site) {
+        return site.getWaitSelector();
+    }
+
+    /**
+     * Verdict for the page currently loaded in {@code check}. Selenium failures other than the strategy's own
+     * wait timeouts propagate to the caller.
+     */
+    SiteStatus check(BrowserCheck check);
+}
@@ -0,0 +1,25 @@
+package com.crl.hh.service.osint.strategy;
+
+import com.crl.hh.repository.models.enums.CheckStrategy;
+import com.crl.hh.repository.models.enums.SiteStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * For sites that serve a normal-looking page for unknown names: the profile only exists if the
+ * rendered page repeats the username and carries no not-found indicator.
+ */
+@Component
+public class UsernameEchoCheckStrategy implements SiteCheckStrategy {
+
+    @Override
+    public CheckStrategy type() {
+        return CheckStrategy.USERNAME_ECHO;
+    }
+
+    @Override
+    public SiteStatus check(BrowserCheck check) {
+        PageVerdict verdict = check.verdict(null);
+        if (!verdict.usernameSeen() || verdict.notFound()) return SiteStatus.ABSENT;
+        return SiteStatus.FOUND;
+    }
+}
@@ -0,0 +1,51 @@
+package com.crl.hh.service.osint.strategy;
+
+import com.crl.hh.matcher.IndicatorMatcher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Locale;
+
+/**
+ * One verdict script per indicator set, with the indicators baked in as a literal. The source text of a site's
+ * script never changes between checks, so the browser compiles it once per session and only the username and
+ * selector travel as arguments. Keyed weakly by matcher, so scripts of replaced catalogues are dropped.
+ */
+final class VerdictScripts {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Cache<IndicatorMatcher, String> SCRIPTS = Caffeine.newBuilder().weakKeys().build();
+
+    private static final String TEMPLATE = """
+            var selector = arguments[0], username = arguments[1], indicators = %s;
+            var text = document.body ? document.body.innerText.toLowerCase() : '';
+            var indicator = -1;
+            for (var i = 0; i < indicators.length; i++) {
+              if (text.indexOf(indicators[i]) >= 0) { indicator = i; break; }
+            }
+            return {
+              indicator: indicator,
+              username: text.indexOf(username) >= 0,
+              selector: !!(selector && document.querySelector(selector))
+            };
+            """;
+
+    private VerdictScripts() {
+    }
+
+    static String forMatcher(IndicatorMatcher matcher) {
+        return SCRIPTS.get(matcher, VerdictScripts::compile);
+    }
+
+    private static String compile(IndicatorMatcher matcher) {
+        try {
+            return TEMPLATE.formatted(JSON.writeValueAsString(matcher.getIndicators().stream()
+                    .map(indicator -> indicator.toLowerCase(Locale.ROOT))
+                    .toList()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize not-found indicators", e);
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.crl.hh.repository.UserRepository;
 import com.crl.hh.repository.models.MyUserDetails;
 import com.crl.hh.repository.models.User;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -18,15 +17,15 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class MyUserDetailsService implements UserDetailsService {
 
-    private UserRepository userRepository;
-
-    @Autowired
-    public MyUserDetailsService(UserRepository userRepository) {
-        this.userRepository = userRepository;
-    }
+    private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userDetailsCache.get(username, this::loadFromRepository);
+    }
+
+    private UserDetails loadFromRepository(String username) {
         Optional<User> optionalUser = userRepository.findUserByUsername(username);
         return optionalUser.map(MyUserDetails::new)
                 .orElseThrow(() -> new UsernameNotFoundException("User with name:" + username + " not found"));
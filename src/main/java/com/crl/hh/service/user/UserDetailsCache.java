@@ -0,0 +1,113 @@
+package com.crl.hh.service.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Short-lived near-cache of user principals. Writers call {@link #invalidate(String)} after changing a user;
+ * the invalidation is applied locally and broadcast to the other nodes over Redis pub/sub.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDetailsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDetailsCache.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ReactiveRedisConnectionFactory redisConnectionFactory;
+
+    @Value("${security.user-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${security.user-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${security.user-cache.channel:crl:user-invalidation}")
+    private String channel;
+
+    @Value("${security.user-cache.redis.enabled:true}")
+    private boolean redisEnabled;
+
+    private Cache<String, UserDetails> cache;
+    private ReactiveRedisMessageListenerContainer listenerContainer;
+    private Disposable subscription;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+
+        if (!redisEnabled) return;
+
+        try {
+            listenerContainer = new ReactiveRedisMessageListenerContainer(redisConnectionFactory);
+            subscription = listenerContainer.receive(ChannelTopic.of(channel))
+                    .doOnError(e -> logger.warn("User invalidation subscription failed: {}", e.getMessage()))
+                    .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                    .subscribe(message -> cache.invalidate(message.getMessage()));
+        } catch (Exception e) {
+            logger.warn("User invalidations from other nodes are disabled: {}", e.getMessage());
+        }
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return cache.get(username, loader);
+    }
+
+    /**
+     * Drops {@code username} on every node. Inside a transaction this happens after commit, so a concurrent
+     * reload cannot put the pre-commit row back into the cache.
+     */
+    public void invalidate(String username) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(username);
+                }
+            });
+        } else {
+            invalidateNow(username);
+        }
+    }
+
+    private void invalidateNow(String username) {
+        cache.invalidate(username);
+
+        if (redisEnabled) {
+            redisTemplate.convertAndSend(channel, username)
+                    .subscribe(receivers -> {}, e -> logger.warn("Failed to broadcast invalidation of {}: {}", username, e.getMessage()));
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        if (listenerContainer != null) {
+            listenerContainer.destroyLater().subscribe();
+        }
+    }
+}
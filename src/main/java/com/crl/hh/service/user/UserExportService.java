@@ -0,0 +1,71 @@
+package com.crl.hh.service.user;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Streams the users table as NDJSON straight from a JDBC cursor. The PostgreSQL driver only honours the
+ * fetch size inside a transaction, so the export runs in a read-only one; memory stays at one fetch window.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserExportService {
+
+    private static final String EXPORT_QUERY = "SELECT id, username, email, role, verified FROM users ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${admin.users.export.fetch-size:1000}")
+    private int fetchSize;
+
+    private JdbcTemplate cursorTemplate;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        cursorTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        cursorTemplate.setFetchSize(fetchSize);
+
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void exportNdjson(OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+//              ROOT VALUES ARE SPACE SEPARATED BY DEFAULT, THE NEWLINE BELOW IS THE ONLY SEPARATOR NDJSON WANTS
+                generator.setRootValueSeparator(null);
+                cursorTemplate.query(EXPORT_QUERY, rs -> {
+                    try {
+                        generator.writeStartObject();
+                        generator.writeNumberField("id", rs.getLong("id"));
+                        generator.writeStringField("username", rs.getString("username"));
+                        generator.writeStringField("email", rs.getString("email"));
+                        generator.writeStringField("role", rs.getString("role"));
+                        generator.writeBooleanField("verified", rs.getBoolean("verified"));
+                        generator.writeEndObject();
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
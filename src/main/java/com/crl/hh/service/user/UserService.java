@@ -1,27 +1,27 @@
 package com.crl.hh.service.user;
 
 import com.crl.hh.repository.UserRepository;
-import com.crl.hh.repository.VerifyTokenRepository;
 import com.crl.hh.repository.models.dto.SignInRequest;
 import com.crl.hh.repository.models.dto.SignUpRequest;
+import com.crl.hh.repository.models.dto.UserPage;
 import com.crl.hh.repository.models.User;
-import com.crl.hh.repository.models.VerifyToken;
 import com.crl.hh.repository.models.enums.Role;
 import com.crl.hh.service.jwt.JWTService;
 import com.crl.hh.service.mail.MailService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -30,10 +30,15 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final MailService mailService;
-    private final VerifyTokenRepository verifyTokenRepository;
+    private final VerifyTokenService verifyTokenService;
     private final AuthenticationManager authenticationManager;
     private final JWTService jwtService;
+    private final UserDetailsCache userDetailsCache;
 
+    @Value("${admin.users.page.max-size:500}")
+    private int maxPageSize;
+
+    @Transactional
     public String signUp(SignUpRequest signUpRequest) {
         if (userRepository.existsUserByUsername(signUpRequest.getUsername()) || userRepository.existsUserByEmail(signUpRequest.getEmail())) {
             return "User with email: " + signUpRequest.getEmail() + " or username: " + signUpRequest.getUsername() + " already exists";
@@ -52,44 +57,31 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(signUpRequest.getPassword()));
         user.setRole(Role.USER);
 
-        String token = passwordEncoder.encode(UUID.randomUUID().toString());
-        System.out.println(token);
-
-        VerifyToken verifyToken = new VerifyToken();
-        verifyToken.setToken(token);
-        verifyToken.setUsername(signUpRequest.getUsername());
-        verifyToken.setExpiration(LocalDateTime.now().plusMinutes(20));
-
+//      USER, TOKEN AND MAIL COMMIT TOGETHER, THE OUTBOX DISPATCHER SENDS THE MAIL
         try {
             userRepository.save(user);
-            verifyTokenRepository.save(verifyToken);
+            String token = verifyTokenService.issue(user.getUsername());
+            mailService.enqueueMail(user.getEmail(), "verify", "http://localhost:8080/unauthorized/verify?token=" + token);
         } catch (Exception e) {
-            userRepository.deleteUserByUsername(user.getUsername());
-            verifyTokenRepository.deleteVerifyTokenByToken(token);
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return "server err( " +  e.getMessage() + " )";
         }
 
-        mailService.sendMail(user.getEmail(), "verify", "http://localhost:8080/unauthorized/verify?token=" + token);
-
-        return "Success, now you have to pass verify thorough email, you have only 20 minutes";
+        return "Success, now you have to pass verify thorough email, you have only " + verifyTokenService.getTtlMinutes() + " minutes";
     }
 
-    @Transactional
     public String verify(String token) {
-        Optional<VerifyToken> verifyToken = verifyTokenRepository.findVerifyTokenByToken(token);
-
-        if (verifyToken.isEmpty() || verifyToken.get().getExpiration().isBefore(LocalDateTime.now())) {
-            return "Invalid token";
-        }
-
+        Optional<String> username;
         try {
-            userRepository.updateVerifiedByUsername(verifyToken.get().getUsername(), true);
-            verifyTokenRepository.deleteVerifyTokenByToken(token);
+            username = verifyTokenService.consume(token);
         } catch (Exception e) {
-            userRepository.deleteUserByUsername(verifyToken.get().getUsername());
-            verifyTokenRepository.deleteVerifyTokenByToken(token);
             return "server err( " +  e.getMessage() + " )";
         }
+
+        if (username.isEmpty()) {
+            return "Invalid token";
+        }
+        userDetailsCache.invalidate(username.get());
         return "User was created";
     }
 
@@ -101,14 +93,24 @@ public class UserService {
         return jwtService.generateToken(signInRequest.getUsername());
     }
 
-    public List<User> allUsers() {
-        return userRepository.findAll();
+    public UserPage usersPage(Long after, int size, Role role, Boolean verified) {
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        List<User> users = userRepository.findPageAfter(after == null ? 0 : after, role, verified, Limit.of(limit));
+        Long nextCursor = users.size() == limit ? users.get(users.size() - 1).getId() : null;
+        return new UserPage(users, nextCursor);
+    }
+
+    public String changeRole(String username, Role role) {
+        if (userRepository.updateRoleByUsername(username, role) == 0) {
+            return "User with name: " + username + " not found";
+        }
+        userDetailsCache.invalidate(username);
+        return "Role of " + username + " changed to " + role;
     }
 
 
-    @Transactional
     @Scheduled(fixedRateString = "${verify.cleanup.rate.ms:1200000}")
     public void cleanExpiredTokens() {
-        verifyTokenRepository.deleteByExpirationBefore(LocalDateTime.now().plusMinutes(20));
+        verifyTokenService.deleteExpired();
     }
 }
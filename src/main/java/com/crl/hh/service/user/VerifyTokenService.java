@@ -0,0 +1,74 @@
+package com.crl.hh.service.user;
+
+import com.crl.hh.repository.VerifyTokenRepository;
+import com.crl.hh.repository.models.VerifyToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Verification tokens are 256 random bits handed out once; only their SHA-256 digest is stored,
+ * so a leaked table cannot be replayed and lookups stay a single unique-index probe.
+ */
+@Service
+@RequiredArgsConstructor
+public class VerifyTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final VerifyTokenRepository verifyTokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${verify.token.ttl-minutes:20}")
+    private long ttlMinutes;
+
+    public long getTtlMinutes() {
+        return ttlMinutes;
+    }
+
+    /**
+     * Stores a new token for {@code username} and returns its raw, URL-safe value.
+     */
+    public String issue(String username) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        VerifyToken verifyToken = new VerifyToken();
+        verifyToken.setToken(digest(token));
+        verifyToken.setUsername(username);
+        verifyToken.setExpiration(LocalDateTime.now().plusMinutes(ttlMinutes));
+        verifyTokenRepository.save(verifyToken);
+        return token;
+    }
+
+    /**
+     * Username the token was issued for if it was valid; the user is verified and the token deleted.
+     */
+    public Optional<String> consume(String token) {
+        if (token == null || token.isEmpty()) return Optional.empty();
+        return verifyTokenRepository.consumeAndVerify(digest(token), LocalDateTime.now());
+    }
+
+    public int deleteExpired() {
+        return verifyTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
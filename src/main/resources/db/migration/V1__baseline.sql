@@ -0,0 +1,18 @@
+-- Tables that existed before migrations were introduced. IF NOT EXISTS keeps this a no-op on databases
+-- that were created by hand, which are baselined at version 0 and run it anyway.
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGSERIAL PRIMARY KEY,
+    username VARCHAR(255),
+    email    VARCHAR(255),
+    password VARCHAR(255),
+    role     VARCHAR(255),
+    verified BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+CREATE TABLE IF NOT EXISTS verifytokens (
+    id         BIGSERIAL PRIMARY KEY,
+    token      VARCHAR(255),
+    username   VARCHAR(255),
+    expiration TIMESTAMP
+);
@@ -0,0 +1,12 @@
+-- Tokens are now stored as the hex SHA-256 digest of the mailed value. Rows from before hold 60-character
+-- BCrypt hashes, which cannot be turned into digests and so can never match a lookup again. They are
+-- short-lived (verify.token.ttl-minutes) and would only have expired, so they are dropped rather than
+-- left to break the narrower column.
+DELETE FROM verifytokens WHERE token IS NULL OR token !~ '^[0-9a-f]{64}$';
+
+ALTER TABLE verifytokens
+    ALTER COLUMN token TYPE VARCHAR(64),
+    ALTER COLUMN token SET NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS verifytokens_token_idx ON verifytokens (token);
+CREATE INDEX IF NOT EXISTS verifytokens_expiration_idx ON verifytokens (expiration);
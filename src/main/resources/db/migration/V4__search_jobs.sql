@@ -0,0 +1,28 @@
+CREATE TABLE IF NOT EXISTS search_jobs (
+    id           UUID PRIMARY KEY,
+    owner        VARCHAR(255) NOT NULL,
+    usernames    TEXT         NOT NULL,
+    status       VARCHAR(16)  NOT NULL,
+    total        INTEGER      NOT NULL DEFAULT 0,
+    completed    INTEGER      NOT NULL DEFAULT 0,
+    created_at   TIMESTAMP    NOT NULL,
+    updated_at   TIMESTAMP    NOT NULL,
+    heartbeat_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS search_jobs_status_heartbeat_idx ON search_jobs (status, heartbeat_at);
+
+-- The pair key is the ON CONFLICT target of result flushes, the page index serves cursor reads of a job's results.
+CREATE TABLE IF NOT EXISTS search_job_results (
+    id         BIGSERIAL PRIMARY KEY,
+    job_id     UUID         NOT NULL REFERENCES search_jobs (id) ON DELETE CASCADE,
+    username   VARCHAR(255) NOT NULL,
+    site       VARCHAR(255) NOT NULL,
+    url        VARCHAR(2048),
+    status     VARCHAR(16)  NOT NULL,
+    latency_ms BIGINT,
+    checked_at TIMESTAMP    NOT NULL,
+    CONSTRAINT search_job_results_pair_key UNIQUE (job_id, username, site)
+);
+
+CREATE INDEX IF NOT EXISTS search_job_results_page_idx ON search_job_results (job_id, id);
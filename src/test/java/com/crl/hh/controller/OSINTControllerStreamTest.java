@@ -0,0 +1,115 @@
+package com.crl.hh.controller;
+
+import com.crl.hh.matcher.IndicatorMatcher;
+import com.crl.hh.repository.models.SiteEntity;
+import com.crl.hh.repository.models.enums.SiteStatus;
+import com.crl.hh.service.osint.OSINTService;
+import com.crl.hh.service.osint.cache.SearchResultCache;
+import com.crl.hh.service.osint.catalogue.CatalogueSnapshot;
+import com.crl.hh.service.osint.catalogue.SiteCatalogue;
+import com.crl.hh.service.osint.dispatch.RedisCheckDispatcher;
+import com.crl.hh.service.osint.driver.WebDriverPool;
+import com.crl.hh.service.osint.health.SiteHealthRegistry;
+import com.crl.hh.service.osint.http.HostConcurrencyLimiter;
+import com.crl.hh.service.osint.http.HttpProbeClient;
+import com.crl.hh.service.osint.job.SearchJobService;
+import com.crl.hh.service.osint.metrics.OsintMetrics;
+import com.crl.hh.service.osint.strategy.SiteCheckStrategies;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class OSINTControllerStreamTest {
+
+    private SiteCatalogue siteCatalogue;
+    private RedisCheckDispatcher checkDispatcher;
+    private SearchResultCache searchResultCache;
+    private OsintMetrics osintMetrics;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        siteCatalogue = mock(SiteCatalogue.class);
+        checkDispatcher = mock(RedisCheckDispatcher.class);
+        searchResultCache = mock(SearchResultCache.class);
+        osintMetrics = mock(OsintMetrics.class);
+        when(siteCatalogue.current()).thenReturn(new CatalogueSnapshot(1, Instant.now(), List.of(site("GitHub"), site("GitLab")), IndicatorMatcher.empty()));
+
+        OSINTService osintService = new OSINTService(siteCatalogue, mock(WebDriverPool.class), mock(SiteCheckStrategies.class), checkDispatcher,
+                searchResultCache, mock(HttpProbeClient.class), mock(HostConcurrencyLimiter.class), mock(SiteHealthRegistry.class), osintMetrics, new ObjectMapper());
+        ReflectionTestUtils.setField(osintService, "streamTimeoutMs", 120000L);
+        mvc = MockMvcBuilders.standaloneSetup(new OSINTController(osintService, mock(SearchJobService.class))).build();
+    }
+
+    @Test
+    void streamsOneEventPerSiteThenSummary() throws Exception {
+        when(searchResultCache.getAll(eq("alice"), anyList())).thenReturn(Map.of("GitHub", SiteStatus.FOUND, "GitLab", SiteStatus.ABSENT));
+
+        MvcResult result = mvc.perform(get("/osint/search-by-username/stream").param("username", "alice"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertThat(body.split("event:site", -1)).hasSize(3);
+        assertThat(body).contains("\"site\":\"GitHub\"", "\"status\":\"FOUND\"", "\"site\":\"GitLab\"", "\"status\":\"ABSENT\"");
+        assertThat(body.indexOf("event:summary")).isGreaterThan(body.lastIndexOf("event:site"));
+        assertThat(body).contains("\"total\":2", "\"found\":1");
+        verify(osintMetrics).searchFinished();
+    }
+
+    @Test
+    void completesEmptyStreamForBlankUsername() throws Exception {
+        MvcResult result = mvc.perform(get("/osint/search-by-username/stream").param("username", " "))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsString()).isEmpty();
+        verifyNoInteractions(siteCatalogue, searchResultCache);
+    }
+
+    @Test
+    void cancelsPendingChecksWhenStreamTimesOut() throws Exception {
+        CompletableFuture<SiteStatus> reply = new CompletableFuture<>();
+        when(searchResultCache.getAll(eq("alice"), anyList())).thenReturn(Map.of("GitHub", SiteStatus.FOUND));
+        when(checkDispatcher.isEnabled()).thenReturn(true);
+        when(checkDispatcher.dispatch(argThat(site -> site.getName().equals("GitLab")), eq("alice"))).thenReturn(reply);
+
+        MvcResult result = mvc.perform(get("/osint/search-by-username/stream").param("username", "alice"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(result.getResponse().getContentAsString()).contains("\"site\":\"GitHub\"").doesNotContain("event:summary");
+
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        assertThat(reply).isCancelled();
+    }
+
+    private static SiteEntity site(String name) {
+        SiteEntity site = new SiteEntity();
+        site.setName(name);
+        site.setUrlPrefix("https://" + name.toLowerCase() + ".com/");
+        site.setUrlSuffix("");
+        return site;
+    }
+}
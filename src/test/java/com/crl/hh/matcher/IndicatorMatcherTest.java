@@ -0,0 +1,76 @@
+package com.crl.hh.matcher;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndicatorMatcherTest {
+
+    @Test
+    void findsOverlappingIndicators() {
+        IndicatorMatcher matcher = IndicatorMatcher.compile(List.of("he", "she", "his", "hers"));
+
+        assertThat(matcher.findAll("ushers")).containsExactlyInAnyOrder("she", "he", "hers");
+        assertThat(matcher.findFirst("ushers")).isEqualTo("she");
+    }
+
+    @Test
+    void followsFailureLinksAfterPartialMatch() {
+        IndicatorMatcher matcher = IndicatorMatcher.compile(List.of("abcd", "bce"));
+
+        assertThat(matcher.findFirst("xabce")).isEqualTo("bce");
+        assertThat(matcher.matches("abcabcd")).isTrue();
+        assertThat(matcher.matches("abcab")).isFalse();
+    }
+
+    @Test
+    void reportsIndicatorsThatAreSuffixesOfOthers() {
+        IndicatorMatcher matcher = IndicatorMatcher.compile(List.of("page not found", "not found"));
+
+        assertThat(matcher.findAll("Page Not Found")).containsExactlyInAnyOrder("page not found", "not found");
+    }
+
+    @Test
+    void foldsAsciiCase() {
+        IndicatorMatcher matcher = IndicatorMatcher.compile(List.of("User Not Found"));
+
+        assertThat(matcher.findFirst("ERROR: USER NOT FOUND")).isEqualTo("User Not Found");
+    }
+
+    @Test
+    void foldsNonAsciiCase() {
+        IndicatorMatcher matcher = IndicatorMatcher.compile(List.of("Пользователь не найден", "straße"));
+
+        assertThat(matcher.matches("ПОЛЬЗОВАТЕЛЬ НЕ НАЙДЕН")).isTrue();
+        assertThat(matcher.matches("пользователь не найден")).isTrue();
+        assertThat(matcher.matches("STRAßE")).isTrue();
+    }
+
+    @Test
+    void foldsNonAsciiCharactersThatLowerToAscii() {
+        IndicatorMatcher matcher = IndicatorMatcher.compile(List.of("5k"));
+
+        assertThat(matcher.matches("5\u212A")).isTrue();
+    }
+
+    @Test
+    void stepsThroughStates() {
+        IndicatorMatcher matcher = IndicatorMatcher.compile(List.of("ÉTÉ"));
+
+        int state = matcher.initialState();
+        for (char c : "un été".toCharArray()) state = matcher.next(state, c);
+
+        assertThat(matcher.getIndicator(matcher.matchAt(state))).isEqualTo("ÉTÉ");
+    }
+
+    @Test
+    void ignoresBlankAndDuplicateIndicators() {
+        IndicatorMatcher matcher = IndicatorMatcher.compile(Arrays.asList(" missing ", "missing", "", null));
+
+        assertThat(matcher.getIndicators()).containsExactly("missing");
+        assertThat(IndicatorMatcher.empty().matches("anything")).isFalse();
+    }
+}
@@ -0,0 +1,113 @@
+package com.crl.hh.service.jwt;
+
+import com.crl.hh.repository.UserRepository;
+import com.crl.hh.repository.models.User;
+import com.crl.hh.repository.models.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class JWTServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private UserRepository userRepository;
+    private JWTService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        jwtService = new JWTService(userRepository);
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "expirationTime", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 100L);
+        jwtService.init();
+    }
+
+    @Test
+    void servesRepeatVerificationsFromCache() {
+        when(userRepository.findUserByUsername("alice")).thenReturn(Optional.of(new User(1L, "alice", "a@example.com", "hash", Role.USER, true)));
+        String token = jwtService.generateToken("alice");
+
+        Claims first = jwtService.verify(token);
+        Claims second = jwtService.verify(token);
+
+        assertThat(first).isNotNull();
+        assertThat(first.getSubject()).isEqualTo("alice");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void rejectsCachedTokenOnceItExpires() throws Exception {
+        String token = token("alice", "USER", 2_000);
+
+        assertThat(jwtService.verify(token)).isNotNull();
+        Thread.sleep(3_000);
+
+        assertThat(jwtService.verify(token)).isNull();
+        assertThat(jwtService.extractUsername(token)).isNull();
+    }
+
+    @Test
+    void rejectsTamperedSignature() {
+        String token = token("alice", "USER", 60_000);
+        int signatureStart = token.lastIndexOf('.') + 1;
+        int middle = signatureStart + (token.length() - signatureStart) / 2;
+        char flipped = token.charAt(middle) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, middle) + flipped + token.substring(middle + 1);
+
+        assertThat(jwtService.verify(tampered)).isNull();
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKey() {
+        String foreign = Jwts.builder()
+                .subject("alice")
+                .claim("role", "ADMIN")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("fedcba9876543210fedcba9876543210fedcba9876543210".getBytes()))
+                .compact();
+
+        assertThat(jwtService.verify(foreign)).isNull();
+    }
+
+    @Test
+    void leavesPrincipalUnauthenticatedWithoutKnownRole() {
+        Claims missing = jwtService.verify(token("alice", null, 60_000));
+        Claims unknown = jwtService.verify(token("alice", "ROOT", 60_000));
+
+        assertThat(jwtService.userDetailsFromClaims(missing)).isNull();
+        assertThat(jwtService.userDetailsFromClaims(unknown)).isNull();
+        assertThat(jwtService.validateClaims(missing, null)).isFalse();
+    }
+
+    @Test
+    void buildsPrincipalFromRoleClaim() {
+        Claims claims = jwtService.verify(token("alice", "ADMIN", 60_000));
+
+        UserDetails userDetails = jwtService.userDetailsFromClaims(claims);
+
+        assertThat(userDetails.getUsername()).isEqualTo("alice");
+        assertThat(userDetails.getAuthorities()).extracting(Object::toString).containsExactly("ADMIN");
+        assertThat(jwtService.validateClaims(claims, userDetails)).isTrue();
+    }
+
+    private static String token(String username, String role, long validForMs) {
+        var builder = Jwts.builder()
+                .subject(username)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + validForMs));
+        if (role != null) builder.claim("role", role);
+        return builder.signWith(Keys.hmacShaKeyFor(SECRET.getBytes())).compact();
+    }
+}
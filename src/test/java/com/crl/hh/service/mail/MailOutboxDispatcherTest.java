@@ -0,0 +1,207 @@
+package com.crl.hh.service.mail;
+
+import com.crl.hh.repository.OutboxMailRepository;
+import com.crl.hh.repository.models.OutboxMail;
+import com.crl.hh.repository.models.enums.OutboxStatus;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private OutboxMailRepository repository;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private List<List<OutboxMail>> saved;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OutboxMailRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+
+        saved = new ArrayList<>();
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<OutboxMail> mails = invocation.getArgument(0);
+            saved.add(mails.stream().map(MailOutboxDispatcherTest::copy).toList());
+            return mails;
+        });
+    }
+
+    @Test
+    void sendsDueMailsAndMarksThemSent() throws Exception {
+        List<OutboxMail> due = List.of(mail(1L, "a@example.com"), mail(2L, "b@example.com"));
+        when(repository.lockDue(any(), anyInt())).thenReturn(due);
+
+        dispatcher(smtpSender(ServerSetupTest.SMTP.getPort())).dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        assertThat(received[0].getSubject()).isEqualTo("subject 1");
+        assertThat(due).allSatisfy(mail -> {
+            assertThat(mail.getStatus()).isEqualTo(OutboxStatus.SENT);
+            assertThat(mail.getAttempts()).isEqualTo(1);
+            assertThat(mail.getBody()).isNull();
+        });
+        assertThat(meterRegistry.counter("mail.outbox.dispatched", "outcome", "sent").count()).isEqualTo(2);
+    }
+
+    @Test
+    void claimsBatchUnderLeaseBeforeSending() {
+        List<OutboxMail> due = List.of(mail(1L, "a@example.com"));
+        when(repository.lockDue(any(), anyInt())).thenReturn(due);
+
+        dispatcher(smtpSender(ServerSetupTest.SMTP.getPort())).dispatch();
+
+        assertThat(saved).hasSize(2);
+        OutboxMail claimed = saved.get(0).get(0);
+        assertThat(claimed.getStatus()).isEqualTo(OutboxStatus.SENDING);
+        assertThat(claimed.getNextAttemptAt()).isCloseTo(LocalDateTime.now().plusMinutes(10), within(5, SECONDS));
+        assertThat(saved.get(1).get(0).getStatus()).isEqualTo(OutboxStatus.SENT);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void retriesOnlyTheMessagesThatFailed() {
+        OutboxMail ok = mail(1L, "a@example.com");
+        OutboxMail rejected = mail(2L, "b@example.com");
+        when(repository.lockDue(any(), anyInt())).thenReturn(List.of(ok, rejected));
+
+        JavaMailSender sender = mock(JavaMailSender.class);
+        doAnswer(invocation -> {
+            SimpleMailMessage second = invocation.getArgument(1);
+            throw new MailSendException("partial", null, Map.of(second, new IllegalStateException("mailbox unavailable")));
+        }).when(sender).send(any(SimpleMailMessage[].class));
+
+        dispatcher(sender).dispatch();
+
+        assertThat(ok.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(rejected.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(rejected.getAttempts()).isEqualTo(1);
+        assertThat(rejected.getBody()).isNotNull();
+        assertThat(rejected.getLastError()).isEqualTo("mailbox unavailable");
+        assertThat(rejected.getNextAttemptAt()).isCloseTo(LocalDateTime.now().plusSeconds(30), within(5, SECONDS));
+    }
+
+    @Test
+    void backsOffExponentiallyWhenServerIsUnreachable() throws Exception {
+        OutboxMail mail = mail(1L, "a@example.com");
+        mail.setAttempts(2);
+        when(repository.lockDue(any(), anyInt())).thenReturn(List.of(mail));
+
+        dispatcher(smtpSender(closedPort())).dispatch();
+
+        assertThat(mail.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(mail.getAttempts()).isEqualTo(3);
+        assertThat(mail.getNextAttemptAt()).isCloseTo(LocalDateTime.now().plusSeconds(120), within(5, SECONDS));
+        assertThat(meterRegistry.counter("mail.outbox.dispatched", "outcome", "retried").count()).isEqualTo(1);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() throws Exception {
+        OutboxMail mail = mail(1L, "a@example.com");
+        mail.setAttempts(7);
+        when(repository.lockDue(any(), anyInt())).thenReturn(List.of(mail));
+
+        dispatcher(smtpSender(closedPort())).dispatch();
+
+        assertThat(mail.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(mail.getAttempts()).isEqualTo(8);
+        assertThat(mail.getBody()).isNull();
+        assertThat(meterRegistry.counter("mail.outbox.dispatched", "outcome", "failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void purgesSentAndFailedMailsPastRetention() {
+        MailOutboxDispatcher dispatcher = dispatcher(mock(JavaMailSender.class));
+
+        dispatcher.purgeFinished();
+
+        verify(repository).deleteByStatusInAndCreatedAtBefore(argThat(statuses -> statuses.containsAll(List.of(OutboxStatus.SENT, OutboxStatus.FAILED))),
+                argThat(time -> time.isBefore(LocalDateTime.now().minusHours(23))));
+    }
+
+    @Test
+    void doesNothingWithoutDueMails() {
+        JavaMailSender sender = mock(JavaMailSender.class);
+        when(repository.lockDue(any(), anyInt())).thenReturn(List.of());
+
+        dispatcher(sender).dispatch();
+
+        verifyNoInteractions(sender);
+        assertThat(saved).hasSize(1);
+    }
+
+    private MailOutboxDispatcher dispatcher(JavaMailSender sender) {
+        MailService mailService = new MailService(repository);
+        ReflectionTestUtils.setField(mailService, "mailFrom", "crl@example.com");
+
+        MailOutboxDispatcher dispatcher = new MailOutboxDispatcher(repository, sender, mailService, meterRegistry, transactionManager);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 8);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffMs", 30_000L);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffMs", 3_600_000L);
+        ReflectionTestUtils.setField(dispatcher, "retentionHours", 24L);
+        ReflectionTestUtils.setField(dispatcher, "leaseMs", 600_000L);
+        dispatcher.init();
+        return dispatcher;
+    }
+
+    private static JavaMailSender smtpSender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(port);
+        sender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        sender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+        return sender;
+    }
+
+    private static int closedPort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static OutboxMail mail(long id, String recipient) {
+        OutboxMail mail = new OutboxMail(recipient, "subject " + id, "body " + id);
+        mail.setId(id);
+        return mail;
+    }
+
+    private static OutboxMail copy(OutboxMail mail) {
+        OutboxMail copy = new OutboxMail(mail.getRecipient(), mail.getSubject(), mail.getBody());
+        copy.setId(mail.getId());
+        copy.setStatus(mail.getStatus());
+        copy.setAttempts(mail.getAttempts());
+        copy.setNextAttemptAt(mail.getNextAttemptAt());
+        copy.setLastError(mail.getLastError());
+        return copy;
+    }
+}
@@ -0,0 +1,117 @@
+package com.crl.hh.service.osint;
+
+import com.crl.hh.matcher.IndicatorMatcher;
+import com.crl.hh.repository.models.SiteEntity;
+import com.crl.hh.repository.models.dto.SearchReport;
+import com.crl.hh.repository.models.dto.SiteResult;
+import com.crl.hh.repository.models.enums.SiteStatus;
+import com.crl.hh.service.osint.cache.SearchResultCache;
+import com.crl.hh.service.osint.catalogue.CatalogueSnapshot;
+import com.crl.hh.service.osint.catalogue.SiteCatalogue;
+import com.crl.hh.service.osint.dispatch.RedisCheckDispatcher;
+import com.crl.hh.service.osint.driver.WebDriverPool;
+import com.crl.hh.service.osint.health.SiteHealthRegistry;
+import com.crl.hh.service.osint.http.HostConcurrencyLimiter;
+import com.crl.hh.service.osint.http.HttpProbeClient;
+import com.crl.hh.service.osint.metrics.OsintMetrics;
+import com.crl.hh.service.osint.strategy.SiteCheckStrategies;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OSINTServiceTest {
+
+    private SiteCatalogue siteCatalogue;
+    private RedisCheckDispatcher checkDispatcher;
+    private SearchResultCache searchResultCache;
+    private OsintMetrics osintMetrics;
+    private OSINTService osintService;
+
+    @BeforeEach
+    void setUp() {
+        siteCatalogue = mock(SiteCatalogue.class);
+        checkDispatcher = mock(RedisCheckDispatcher.class);
+        searchResultCache = mock(SearchResultCache.class);
+        osintMetrics = mock(OsintMetrics.class);
+        when(siteCatalogue.current()).thenReturn(new CatalogueSnapshot(1, Instant.now(), List.of(site("GitHub"), site("GitLab")), IndicatorMatcher.empty()));
+        when(searchResultCache.getAll(eq("alice"), anyList())).thenReturn(Map.of("GitHub", SiteStatus.FOUND));
+        when(checkDispatcher.isEnabled()).thenReturn(true);
+
+        osintService = new OSINTService(siteCatalogue, mock(WebDriverPool.class), mock(SiteCheckStrategies.class), checkDispatcher,
+                searchResultCache, mock(HttpProbeClient.class), mock(HostConcurrencyLimiter.class), mock(SiteHealthRegistry.class), osintMetrics, new ObjectMapper());
+        ReflectionTestUtils.setField(osintService, "searchDeadlineMs", 30_000L);
+        ReflectionTestUtils.setField(osintService, "searchMaxDeadlineMs", 200L);
+    }
+
+    @Test
+    void reportsChecksRunningPastDeadlineAsTimeout() {
+        CompletableFuture<SiteStatus> reply = pendingReplyFor("GitLab");
+
+        SearchReport report = osintService.searchByUsername("alice", 50L);
+
+        assertThat(report.complete()).isFalse();
+        assertThat(report.found()).containsExactly("https://github.com/alice");
+        assertThat(report.sites()).extracting(SiteResult::site, SiteResult::status)
+                .containsExactly(tuple("GitHub", SiteStatus.FOUND), tuple("GitLab", SiteStatus.TIMEOUT));
+        assertThat(reply).isCancelled();
+        verify(osintMetrics).recordVerdict("GitLab", SiteStatus.TIMEOUT);
+        verify(osintMetrics).searchFinished();
+    }
+
+    @Test
+    void capsRequestedDeadlineAtMaximum() {
+        pendingReplyFor("GitLab");
+
+        long startedAt = System.currentTimeMillis();
+        SearchReport report = osintService.searchByUsername("alice", 3_600_000L);
+
+        assertThat(System.currentTimeMillis() - startedAt).isLessThan(5_000);
+        assertThat(report.complete()).isFalse();
+    }
+
+    @Test
+    void completesWhenEveryCheckFinishesInTime() {
+        when(checkDispatcher.dispatch(argThat(site -> site.getName().equals("GitLab")), eq("alice")))
+                .thenReturn(CompletableFuture.completedFuture(SiteStatus.ABSENT));
+
+        SearchReport report = osintService.searchByUsername("alice", 1_000L);
+
+        assertThat(report.complete()).isTrue();
+        assertThat(report.sites()).extracting(SiteResult::status).containsExactly(SiteStatus.FOUND, SiteStatus.ABSENT);
+    }
+
+    @Test
+    void returnsEmptyReportForBlankUsername() {
+        SearchReport report = osintService.searchByUsername(" ", null);
+
+        assertThat(report.complete()).isTrue();
+        assertThat(report.found()).isEmpty();
+        assertThat(report.sites()).isEmpty();
+        verifyNoInteractions(siteCatalogue, osintMetrics);
+    }
+
+    private CompletableFuture<SiteStatus> pendingReplyFor(String siteName) {
+        CompletableFuture<SiteStatus> reply = new CompletableFuture<>();
+        when(checkDispatcher.dispatch(argThat(site -> site.getName().equals(siteName)), eq("alice"))).thenReturn(reply);
+        return reply;
+    }
+
+    private static SiteEntity site(String name) {
+        SiteEntity site = new SiteEntity();
+        site.setName(name);
+        site.setUrlPrefix("https://" + name.toLowerCase() + ".com/");
+        site.setUrlSuffix("");
+        return site;
+    }
+}
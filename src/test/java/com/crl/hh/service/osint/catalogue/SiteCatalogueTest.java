@@ -0,0 +1,187 @@
+package com.crl.hh.service.osint.catalogue;
+
+import com.crl.hh.repository.NotFoundIndicatorsRepository;
+import com.crl.hh.repository.SiteEntityRepository;
+import com.crl.hh.repository.models.SiteEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SiteCatalogueTest {
+
+    private static final String SITES = """
+            [
+              {"name": "GitHub", "urlPattern": "https://github.com/%s", "detectionStage": "BODY"},
+              {"name": "GitLab", "urlPattern": "https://gitlab.com/%s", "notFoundIndicators": ["Page Not Found"]},
+              {"name": "Retired", "urlPattern": "https://retired.example/%s", "enabled": false}
+            ]
+            """;
+
+    @TempDir
+    Path directory;
+
+    private Path sitesFile;
+    private Path indicatorsFile;
+    private SiteCatalogue catalogue;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        sitesFile = directory.resolve("sites.json");
+        indicatorsFile = directory.resolve("indicators.json");
+        Files.writeString(sitesFile, SITES);
+        Files.writeString(indicatorsFile, "[\"user not found\", \" \", \"404\"]");
+
+        SiteEntityRepository sites = new SiteEntityRepository(new DefaultResourceLoader(), new ObjectMapper());
+        ReflectionTestUtils.setField(sites, "sitesFile", sitesFile.toUri().toString());
+        NotFoundIndicatorsRepository indicators = new NotFoundIndicatorsRepository(new DefaultResourceLoader(), new ObjectMapper());
+        ReflectionTestUtils.setField(indicators, "notFoundIndicatorsFile", indicatorsFile.toUri().toString());
+
+        catalogue = new SiteCatalogue(sites, indicators);
+        ReflectionTestUtils.setField(catalogue, "watchEnabled", false);
+        ReflectionTestUtils.setField(catalogue, "debounceMs", 50L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalogue.cleanup();
+    }
+
+    @Test
+    void loadsEnabledSitesAndIndicators() {
+        catalogue.init();
+
+        CatalogueSnapshot snapshot = catalogue.current();
+        assertThat(snapshot.version()).isEqualTo(1);
+        assertThat(snapshot.sites()).extracting(SiteEntity::getName).containsExactly("GitHub", "GitLab");
+        assertThat(snapshot.notFoundMatcher().getIndicators()).containsExactly("user not found", "404");
+        assertThat(site(snapshot, "GitHub").url("octocat")).isEqualTo("https://github.com/octocat");
+        assertThat(site(snapshot, "GitLab").notFoundMatcher(snapshot.notFoundMatcher()).getIndicators()).containsExactly("Page Not Found");
+    }
+
+    @Test
+    void publishesValidEditAsNewVersion() throws IOException {
+        catalogue.init();
+        List<CatalogueSnapshot> published = new CopyOnWriteArrayList<>();
+        catalogue.addListener(published::add);
+
+        Files.writeString(sitesFile, SITES.replace("https://github.com/%s", "https://github.com/%s/"));
+        CatalogueSnapshot snapshot = catalogue.reload();
+
+        assertThat(snapshot.version()).isEqualTo(2);
+        assertThat(catalogue.current()).isSameAs(snapshot);
+        assertThat(published).containsExactly(snapshot);
+        assertThat(site(snapshot, "GitHub").url("octocat")).isEqualTo("https://github.com/octocat/");
+    }
+
+    @Test
+    void changesDefinitionHashOnlyForEditedSites() throws IOException {
+        catalogue.init();
+        CatalogueSnapshot before = catalogue.current();
+
+        Files.writeString(sitesFile, SITES.replace("\"Page Not Found\"", "\"Nothing here\""));
+        CatalogueSnapshot after = catalogue.reload();
+
+        assertThat(site(after, "GitHub").getDefinitionHash()).isEqualTo(site(before, "GitHub").getDefinitionHash());
+        assertThat(site(after, "GitLab").getDefinitionHash()).isNotEqualTo(site(before, "GitLab").getDefinitionHash());
+    }
+
+    @Test
+    void sharedIndicatorEditChangesHashOfSitesUsingThem() throws IOException {
+        catalogue.init();
+        CatalogueSnapshot before = catalogue.current();
+
+        Files.writeString(indicatorsFile, "[\"no such user\"]");
+        CatalogueSnapshot after = catalogue.reload();
+
+        assertThat(site(after, "GitHub").getDefinitionHash()).isNotEqualTo(site(before, "GitHub").getDefinitionHash());
+        assertThat(site(after, "GitLab").getDefinitionHash()).isEqualTo(site(before, "GitLab").getDefinitionHash());
+    }
+
+    @Test
+    void rejectsPatternWithoutPlaceholderAndKeepsActiveVersion() throws IOException {
+        assertRejected(SITES.replace("https://github.com/%s", "https://github.com/"), null);
+    }
+
+    @Test
+    void rejectsPatternWithSeveralPlaceholders() throws IOException {
+        assertRejected(SITES.replace("https://github.com/%s", "https://github.com/%s/%s"), null);
+    }
+
+    @Test
+    void rejectsDuplicateNames() throws IOException {
+        assertRejected(SITES.replace("\"GitLab\"", "\"GitHub\""), null);
+    }
+
+    @Test
+    void rejectsProfileStrategyWithoutSelector() throws IOException {
+        assertRejected(SITES.replace("\"detectionStage\": \"BODY\"", "\"checkStrategy\": \"PROFILE_ELEMENT\""), null);
+    }
+
+    @Test
+    void rejectsUnparsableSitesFile() throws IOException {
+        assertRejected(SITES.substring(0, SITES.length() / 2), null);
+    }
+
+    @Test
+    void rejectsEmptyIndicators() throws IOException {
+        assertRejected(null, "[\" \"]");
+    }
+
+    @Test
+    void failsStartupOnInvalidCatalogue() throws IOException {
+        Files.writeString(sitesFile, "[{\"name\": \"Broken\", \"urlPattern\": \"https://example.com/\"}]");
+
+        assertThatThrownBy(catalogue::init).isInstanceOf(IllegalStateException.class);
+        assertThat(catalogue.current()).isNull();
+    }
+
+    @Test
+    void reloadsWatchedFilesOnChange() throws Exception {
+        ReflectionTestUtils.setField(catalogue, "watchEnabled", true);
+        catalogue.init();
+
+        Files.writeString(sitesFile, SITES.replace("\"GitLab\"", "\"GitLab CE\""));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (catalogue.current().version() < 2 && System.currentTimeMillis() < deadline) Thread.sleep(20);
+
+        assertThat(catalogue.current().version()).isEqualTo(2);
+        assertThat(catalogue.current().sites()).extracting(SiteEntity::getName).contains("GitLab CE");
+        assertThat(catalogue.describe()).containsEntry("watching", true);
+    }
+
+    private void assertRejected(String sites, String indicators) throws IOException {
+        catalogue.init();
+        CatalogueSnapshot active = catalogue.current();
+        List<CatalogueSnapshot> published = new CopyOnWriteArrayList<>();
+        catalogue.addListener(published::add);
+
+        if (sites != null) Files.writeString(sitesFile, sites);
+        if (indicators != null) Files.writeString(indicatorsFile, indicators);
+
+        assertThatThrownBy(catalogue::reload).isInstanceOf(IllegalStateException.class);
+        assertThat(catalogue.current()).isSameAs(active);
+        assertThat(published).isEmpty();
+
+        Files.writeString(sitesFile, SITES);
+        Files.writeString(indicatorsFile, "[\"user not found\"]");
+        assertThat(catalogue.reload().version()).isEqualTo(2);
+    }
+
+    private static SiteEntity site(CatalogueSnapshot snapshot, String name) {
+        return snapshot.sites().stream().filter(site -> site.getName().equals(name)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,120 @@
+package com.crl.hh.service.osint.dispatch;
+
+import com.crl.hh.repository.models.enums.SiteStatus;
+import com.crl.hh.service.osint.OSINTService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.ReactiveStreamOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RedisCheckWorkerTest {
+
+    private static final String STREAM = RedisCheckDispatcher.HTTP_STREAM;
+    private static final String REPLY_TO = RedisCheckDispatcher.REPLY_STREAM_PREFIX + "node-a";
+
+    private ReactiveStreamOperations<String, String, String> streams;
+    private RedisCheckDispatcher checkDispatcher;
+    private OSINTService osintService;
+    private RedisCheckWorker worker;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        streams = mock(ReactiveStreamOperations.class);
+        ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        doReturn(streams).when(redisTemplate).opsForStream();
+        when(streams.acknowledge(anyString(), anyString(), any(RecordId[].class))).thenReturn(Mono.just(1L));
+
+        checkDispatcher = mock(RedisCheckDispatcher.class);
+        when(checkDispatcher.getNodeId()).thenReturn("node-b");
+        when(checkDispatcher.append(anyString(), anyMap())).thenReturn(Mono.just(RecordId.autoGenerate()));
+
+        osintService = mock(OSINTService.class);
+        worker = new RedisCheckWorker(redisTemplate, checkDispatcher, osintService);
+        ReflectionTestUtils.setField(worker, "claimIdleMs", 120_000L);
+        ReflectionTestUtils.setField(worker, "maxDeliveries", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.cleanup();
+    }
+
+    @Test
+    void dropsTaskDeliveredTooOftenWithErrorReply() {
+        RecordId id = RecordId.of("1-0");
+        pending(id, Duration.ofMinutes(5), 3);
+        claimed(task(id, "1"));
+
+        reclaim();
+
+        verify(checkDispatcher).append(REPLY_TO, Map.of(
+                RedisCheckDispatcher.FIELD_ID, "1",
+                RedisCheckDispatcher.FIELD_STATUS, SiteStatus.ERROR.name()));
+        verify(streams).acknowledge(STREAM, RedisCheckWorker.GROUP, id);
+        verifyNoInteractions(osintService);
+    }
+
+    @Test
+    void runsReclaimedTaskBelowDeliveryLimit() {
+        RecordId id = RecordId.of("2-0");
+        pending(id, Duration.ofMinutes(5), 2);
+        claimed(task(id, "2"));
+        when(osintService.checkForWorker("GitHub", "octocat", true, false)).thenReturn(SiteStatus.FOUND);
+
+        reclaim();
+
+        verify(checkDispatcher, timeout(5_000)).append(REPLY_TO, Map.of(
+                RedisCheckDispatcher.FIELD_ID, "2",
+                RedisCheckDispatcher.FIELD_STATUS, SiteStatus.FOUND.name()));
+        verify(streams, timeout(5_000)).acknowledge(STREAM, RedisCheckWorker.GROUP, id);
+    }
+
+    @Test
+    void leavesTasksThatAreNotIdleLongEnough() {
+        pending(RecordId.of("3-0"), Duration.ofSeconds(5), 5);
+
+        reclaim();
+
+        verify(streams, never()).claim(anyString(), anyString(), anyString(), any(RedisStreamCommands.XClaimOptions.class));
+        verify(streams, never()).acknowledge(anyString(), anyString(), any(RecordId[].class));
+    }
+
+    private void reclaim() {
+        ReflectionTestUtils.invokeMethod(worker, "reclaim", streams, STREAM, new Semaphore(4));
+    }
+
+    private void pending(RecordId id, Duration idle, long deliveries) {
+        PendingMessage message = new PendingMessage(id, Consumer.from(RedisCheckWorker.GROUP, "node-c"), idle, deliveries);
+        when(streams.pending(eq(STREAM), eq(RedisCheckWorker.GROUP), any(), eq(100L)))
+                .thenReturn(Mono.just(new PendingMessages(RedisCheckWorker.GROUP, List.of(message))));
+    }
+
+    private void claimed(MapRecord<String, String, String> task) {
+        when(streams.claim(eq(STREAM), eq(RedisCheckWorker.GROUP), eq("node-b"), any(RedisStreamCommands.XClaimOptions.class)))
+                .thenReturn(Flux.just(task));
+    }
+
+    private static MapRecord<String, String, String> task(RecordId id, String taskId) {
+        return MapRecord.create(STREAM, Map.of(
+                RedisCheckDispatcher.FIELD_ID, taskId,
+                RedisCheckDispatcher.FIELD_USERNAME, "octocat",
+                RedisCheckDispatcher.FIELD_SITE, "GitHub",
+                RedisCheckDispatcher.FIELD_REPLY_TO, REPLY_TO,
+                RedisCheckDispatcher.FIELD_STAGES, RedisCheckDispatcher.STAGES_ALL)).withId(id);
+    }
+}
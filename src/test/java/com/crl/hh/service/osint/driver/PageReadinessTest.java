@@ -0,0 +1,67 @@
+package com.crl.hh.service.osint.driver;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PageReadinessTest {
+
+    private static final PageReadiness.Settle SETTLE = new PageReadiness.Settle(500, 3000, 8000);
+
+    private WebDriver driver;
+
+    @BeforeEach
+    void setUp() {
+        driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class).defaultAnswer(RETURNS_DEEP_STUBS));
+    }
+
+    @Test
+    void returnsSignalReportedByScript() {
+        scriptReturns("QUIET");
+
+        assertThat(await("#profile")).isEqualTo(PageReadiness.Signal.QUIET);
+    }
+
+    @Test
+    void treatsUnloadedDocumentAsRedirect() {
+        scriptThrows(new JavascriptException("javascript error: document unloaded while waiting for result"));
+
+        assertThat(await("#profile")).isEqualTo(PageReadiness.Signal.REDIRECT);
+    }
+
+    @Test
+    void treatsOtherScriptErrorsAsTimeout() {
+        scriptThrows(new JavascriptException("javascript error: Failed to execute 'querySelector' on 'Document': '##profile' is not a valid selector."));
+
+        assertThat(await("##profile")).isEqualTo(PageReadiness.Signal.TIMEOUT);
+    }
+
+    @Test
+    void mapsScriptTimeoutToTimeout() {
+        scriptThrows(new ScriptTimeoutException("script timeout"));
+
+        assertThat(await("#profile")).isEqualTo(PageReadiness.Signal.TIMEOUT);
+    }
+
+    private PageReadiness.Signal await(String selector) {
+        return PageReadiness.await(driver, selector, List.of("User not found"), Duration.ofSeconds(5), SETTLE);
+    }
+
+    private void scriptReturns(Object value) {
+        when(((JavascriptExecutor) driver).executeAsyncScript(anyString(), any(Object[].class))).thenReturn(value);
+    }
+
+    private void scriptThrows(RuntimeException e) {
+        when(((JavascriptExecutor) driver).executeAsyncScript(anyString(), any(Object[].class))).thenThrow(e);
+    }
+}
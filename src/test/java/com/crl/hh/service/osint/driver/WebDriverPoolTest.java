@@ -0,0 +1,94 @@
+package com.crl.hh.service.osint.driver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Constructor;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class WebDriverPoolTest {
+
+    private WebDriverPool pool;
+    private WebDriver driver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pool = new WebDriverPool(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(pool, "poolSize", 1);
+        ReflectionTestUtils.setField(pool, "leaseTimeoutMs", 100L);
+        ReflectionTestUtils.setField(pool, "maxUses", 50);
+        ReflectionTestUtils.setField(pool, "idleTimeoutMs", 300_000L);
+        ReflectionTestUtils.setField(pool, "pageLoadStrategy", "eager");
+        ReflectionTestUtils.setField(pool, "blockPatterns", List.of());
+        pool.init();
+
+        driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class).defaultAnswer(RETURNS_DEEP_STUBS));
+        idle().add(pooled(driver));
+    }
+
+    @AfterEach
+    void tearDown() {
+        Thread.interrupted();
+        pool.cleanup();
+    }
+
+    @Test
+    void keepsCleanSessionForReuse() {
+        pool.borrow().close();
+
+        assertThat(idle()).hasSize(1);
+        assertThat(pool.activeSessions()).isZero();
+        verify(driver).get("about:blank");
+        verify(driver, never()).quit();
+    }
+
+    @Test
+    void quitsInvalidatedSession() {
+        WebDriverPool.Lease lease = pool.borrow();
+        lease.invalidate();
+        lease.close();
+
+        assertThat(idle()).isEmpty();
+        assertThat(pool.activeSessions()).isZero();
+        verify(driver).quit();
+    }
+
+    @Test
+    void quitsSessionOfInterruptedCheckWithInterruptCleared() {
+        AtomicBoolean interruptedDuringQuit = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            interruptedDuringQuit.set(Thread.currentThread().isInterrupted());
+            return null;
+        }).when(driver).quit();
+
+        WebDriverPool.Lease lease = pool.borrow();
+        Thread.currentThread().interrupt();
+        lease.close();
+
+        assertThat(interruptedDuringQuit).isFalse();
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(idle()).isEmpty();
+        assertThat(pool.activeSessions()).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Deque<Object> idle() {
+        return (Deque<Object>) ReflectionTestUtils.getField(pool, "idle");
+    }
+
+    private static Object pooled(WebDriver driver) throws Exception {
+        Constructor<?> constructor = Class.forName(WebDriverPool.class.getName() + "$PooledDriver").getDeclaredConstructor(WebDriver.class);
+        constructor.setAccessible(true);
+        return constructor.newInstance(driver);
+    }
+}
@@ -0,0 +1,138 @@
+package com.crl.hh.service.osint.health;
+
+import com.crl.hh.service.osint.health.SiteHealthRegistry.Channel;
+import com.crl.hh.service.osint.health.SiteHealthRegistry.CircuitState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SiteHealthRegistryTest {
+
+    private static final String SITE = "example";
+
+    private SiteHealthRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SiteHealthRegistry();
+        ReflectionTestUtils.setField(registry, "windowSize", 10);
+        ReflectionTestUtils.setField(registry, "minCalls", 4);
+        ReflectionTestUtils.setField(registry, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(registry, "openDurationMs", 60_000L);
+        ReflectionTestUtils.setField(registry, "timeoutMultiplier", 2.0);
+        ReflectionTestUtils.setField(registry, "httpMinTimeoutMs", 100L);
+        ReflectionTestUtils.setField(registry, "httpMaxTimeoutMs", 1_000L);
+        ReflectionTestUtils.setField(registry, "browserMinTimeoutMs", 500L);
+        ReflectionTestUtils.setField(registry, "browserMaxTimeoutMs", 5_000L);
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        fail(3);
+
+        assertThat(registry.state(SITE)).isEqualTo(CircuitState.CLOSED);
+        assertThat(registry.allowRequest(SITE)).isTrue();
+    }
+
+    @Test
+    void staysClosedBelowFailureRate() {
+        succeed(3);
+        fail(2);
+
+        assertThat(registry.state(SITE)).isEqualTo(CircuitState.CLOSED);
+    }
+
+    @Test
+    void opensAtFailureRateAndRejectsRequests() {
+        succeed(2);
+        fail(2);
+
+        assertThat(registry.state(SITE)).isEqualTo(CircuitState.OPEN);
+        assertThat(registry.allowRequest(SITE)).isFalse();
+    }
+
+    @Test
+    void letsOneProbeThroughWhenHalfOpen() {
+        fail(4);
+        ReflectionTestUtils.setField(registry, "openDurationMs", 0L);
+
+        assertThat(registry.allowRequest(SITE)).isTrue();
+        assertThat(registry.state(SITE)).isEqualTo(CircuitState.HALF_OPEN);
+
+        ReflectionTestUtils.setField(registry, "openDurationMs", 60_000L);
+        assertThat(registry.allowRequest(SITE)).isFalse();
+    }
+
+    @Test
+    void closesAndForgetsFailuresAfterSuccessfulProbe() {
+        fail(4);
+        ReflectionTestUtils.setField(registry, "openDurationMs", 0L);
+        registry.allowRequest(SITE);
+
+        succeed(1);
+
+        assertThat(registry.state(SITE)).isEqualTo(CircuitState.CLOSED);
+        assertThat(registry.getSites().get(SITE).failureRate()).isZero();
+        fail(3);
+        assertThat(registry.state(SITE)).isEqualTo(CircuitState.CLOSED);
+    }
+
+    @Test
+    void reopensAfterFailedProbe() {
+        fail(4);
+        ReflectionTestUtils.setField(registry, "openDurationMs", 0L);
+        registry.allowRequest(SITE);
+        ReflectionTestUtils.setField(registry, "openDurationMs", 60_000L);
+
+        fail(1);
+
+        assertThat(registry.state(SITE)).isEqualTo(CircuitState.OPEN);
+        assertThat(registry.allowRequest(SITE)).isFalse();
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        fail(3);
+        succeed(10);
+
+        assertThat(registry.getSites().get(SITE).failureRate()).isZero();
+    }
+
+    @Test
+    void usesMaximumTimeoutUntilEnoughLatenciesAreKnown() {
+        registry.recordSuccess(SITE, Channel.HTTP, 50);
+
+        assertThat(registry.timeout(SITE, Channel.HTTP)).isEqualTo(Duration.ofMillis(1_000));
+    }
+
+    @Test
+    void scalesTimeoutFromObservedLatencyWithinBounds() {
+        for (int i = 0; i < 4; i++) registry.recordSuccess(SITE, Channel.HTTP, 200);
+        for (int i = 0; i < 4; i++) registry.recordSuccess(SITE, Channel.BROWSER, 100);
+
+        assertThat(registry.timeout(SITE, Channel.HTTP)).isEqualTo(Duration.ofMillis(400));
+        assertThat(registry.timeout(SITE, Channel.BROWSER)).isEqualTo(Duration.ofMillis(500));
+    }
+
+    @Test
+    void tracksLastCheckAcrossOutcomes() {
+        assertThat(registry.lastCheckedAt(SITE)).isZero();
+
+        long before = System.currentTimeMillis();
+        fail(1);
+
+        assertThat(registry.lastCheckedAt(SITE)).isBetween(before, System.currentTimeMillis());
+    }
+
+    private void succeed(int times) {
+        for (int i = 0; i < times; i++) registry.recordSuccess(SITE, Channel.HTTP, 10);
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) registry.recordFailure(SITE, Channel.HTTP, 10);
+    }
+}
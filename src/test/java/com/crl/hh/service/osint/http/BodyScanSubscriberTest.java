@@ -0,0 +1,255 @@
+package com.crl.hh.service.osint.http;
+
+import com.crl.hh.matcher.IndicatorMatcher;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpHeaders;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BodyScanSubscriberTest {
+
+    private static final IndicatorMatcher NOT_FOUND = IndicatorMatcher.compile(
+            List.of("user not found", "страница не найдена", "page isn't available", "sorry, this page isn\u2019t here", "at&t login"));
+    private static final int NO_LIMIT = Integer.MAX_VALUE;
+
+    @Test
+    void findsIndicatorInVisibleText() {
+        BodyScan scan = scan("<html><body><h1>User Not Found</h1></body></html>");
+
+        assertThat(scan.notFoundIndicator()).isEqualTo("user not found");
+        assertThat(scan.complete()).isFalse();
+    }
+
+    @Test
+    void readsWholeBodyWhenNothingSettles() {
+        String html = "<html><body><p>Nothing to see</p></body></html>";
+        BodyScan scan = scan(html);
+
+        assertThat(scan.notFoundIndicator()).isNull();
+        assertThat(scan.usernameSeen()).isFalse();
+        assertThat(scan.complete()).isTrue();
+        assertThat(scan.bytesRead()).isEqualTo(html.length());
+    }
+
+    @Test
+    void ignoresIndicatorInsideTags() {
+        assertThat(scan("<meta name=\"user not found\"><p>profile</p>").notFoundIndicator()).isNull();
+    }
+
+    @Test
+    void keepsQuotedGreaterThanInsideTag() {
+        assertThat(scan("<a title=\"1 > 0 user not found\">profile</a>").notFoundIndicator()).isNull();
+        assertThat(scan("<a title='1 > 0 user not found'>profile</a>").notFoundIndicator()).isNull();
+        assertThat(scan("<a title = \"x>\" data-x=' > '>user not found</a>").notFoundIndicator()).isEqualTo("user not found");
+    }
+
+    @Test
+    void treatsQuotesOutsideAttributeValuesAsText() {
+        assertThat(scan("<p class=main it's>user not found</p>").notFoundIndicator()).isEqualTo("user not found");
+    }
+
+    @Test
+    void skipsComments() {
+        assertThat(scan("<p>profile</p><!-- a > b user not found -- > -->").notFoundIndicator()).isNull();
+        assertThat(scan("<!-- <p>user not found</p> --><p>profile</p>").notFoundIndicator()).isNull();
+        assertThat(scan("<!-- hidden -->user not found").notFoundIndicator()).isEqualTo("user not found");
+    }
+
+    @Test
+    void closesAbruptComments() {
+        assertThat(scan("<!-->user not found").notFoundIndicator()).isEqualTo("user not found");
+        assertThat(scan("<!--->user not found").notFoundIndicator()).isEqualTo("user not found");
+    }
+
+    @Test
+    void treatsOtherDeclarationsAsTags() {
+        assertThat(scan("<!DOCTYPE html><p>user not found</p>").notFoundIndicator()).isEqualTo("user not found");
+        assertThat(scan("<!-x user not found>profile").notFoundIndicator()).isNull();
+    }
+
+    @Test
+    void skipsScriptStyleAndNoscript() {
+        String html = "<script>var m = '<p>user not found</p>'; if (a < b) {}</script>"
+                + "<style>.x:after { content: 'user not found' }</style>"
+                + "<noscript>user not found</noscript>"
+                + "<p>profile</p>";
+
+        assertThat(scan(html).notFoundIndicator()).isNull();
+    }
+
+    @Test
+    void resumesTextAfterRawTextElement() {
+        assertThat(scan("<SCRIPT type=\"x\">1</SCRIPT >user not found").notFoundIndicator()).isEqualTo("user not found");
+        assertThat(scan("<scripts>user not found</scripts>").notFoundIndicator()).isEqualTo("user not found");
+    }
+
+    @Test
+    void separatesTextAcrossTags() {
+        assertThat(scan("us<b>er</b> not found").notFoundIndicator()).isNull();
+        assertThat(scan("user not<br>found").notFoundIndicator()).isEqualTo("user not found");
+    }
+
+    @Test
+    void decodesNumericCharacterReferences() {
+        assertThat(scan("<p>This page isn&#39;t available</p>").notFoundIndicator()).isEqualTo("page isn't available");
+        assertThat(scan("<p>This page isn&#x27;t available</p>").notFoundIndicator()).isEqualTo("page isn't available");
+        assertThat(scan("<p>This page isn&#39t available</p>").notFoundIndicator()).isEqualTo("page isn't available");
+        assertThat(scan("<p>Sorry, this page isn&#8217;t here</p>").notFoundIndicator()).isEqualTo("sorry, this page isn\u2019t here");
+    }
+
+    @Test
+    void decodesCommonNamedCharacterReferences() {
+        assertThat(scan("<p>Sorry, this page isn&rsquo;t here</p>").notFoundIndicator()).isEqualTo("sorry, this page isn\u2019t here");
+        assertThat(scan("<p>This page isn&apos;t available</p>").notFoundIndicator()).isEqualTo("page isn't available");
+        assertThat(scan("<p>User&nbsp;not&nbsp;found</p>").notFoundIndicator()).isEqualTo("user not found");
+        assertThat(scan("<p>AT&amp;T login</p>").notFoundIndicator()).isEqualTo("at&t login");
+    }
+
+    @Test
+    void keepsUnknownReferencesAsWritten() {
+        assertThat(scan("<p>AT&T login</p>").notFoundIndicator()).isEqualTo("at&t login");
+        assertThat(scan("<p>user &bogus; not found</p>").notFoundIndicator()).isNull();
+        assertThat(scan("&lt;p&gt;user not found").notFoundIndicator()).isEqualTo("user not found");
+        assertThat(scan("<p>page isn&#39;t available").notFoundIndicator()).isEqualTo("page isn't available");
+    }
+
+    @Test
+    void decodesReferencesSplitAcrossChunks() {
+        byte[] body = "<p>This page isn&#39;t available</p>".getBytes(StandardCharsets.UTF_8);
+
+        BodyScan scan = scan(StandardCharsets.UTF_8, "octocat", NO_LIMIT, 4096, oneBytePerChunk(body));
+
+        assertThat(scan.notFoundIndicator()).isEqualTo("page isn't available");
+    }
+
+    @Test
+    void matchesAcrossEveryChunkBoundary() {
+        byte[] body = "<p>x</p><!-- > --><a href='>'>user not found</a>".getBytes(StandardCharsets.UTF_8);
+
+        for (int split = 1; split < body.length; split++) {
+            BodyScan scan = scan(StandardCharsets.UTF_8, "octocat", NO_LIMIT, 4096,
+                    List.of(Arrays.copyOfRange(body, 0, split), Arrays.copyOfRange(body, split, body.length)));
+            assertThat(scan.notFoundIndicator()).as("split at %d", split).isEqualTo("user not found");
+        }
+    }
+
+    @Test
+    void decodesMultiByteCharactersSplitAcrossBuffers() {
+        byte[] body = "<h1>Страница не найдена</h1>".getBytes(StandardCharsets.UTF_8);
+
+        BodyScan scan = scan(StandardCharsets.UTF_8, "octocat", NO_LIMIT, 4096, oneBytePerChunk(body));
+
+        assertThat(scan.notFoundIndicator()).isEqualTo("страница не найдена");
+    }
+
+    @Test
+    void decodesDeclaredCharset() {
+        Charset charset = BodyScanSubscriber.charset(HttpHeaders.of(
+                Map.of("Content-Type", List.of("text/html; charset=\"windows-1251\"")), (name, value) -> true));
+        byte[] body = "<h1>Страница не найдена</h1>".getBytes(charset);
+
+        assertThat(charset.name()).isEqualTo("windows-1251");
+        assertThat(scan(charset, "octocat", NO_LIMIT, 4096, List.of(body)).notFoundIndicator()).isEqualTo("страница не найдена");
+    }
+
+    @Test
+    void fallsBackToUtf8ForUnknownCharset() {
+        Charset charset = BodyScanSubscriber.charset(HttpHeaders.of(
+                Map.of("Content-Type", List.of("text/html; charset=made-up")), (name, value) -> true));
+
+        assertThat(charset).isEqualTo(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void stopsAtMaxBytes() {
+        String html = "<p>" + "a".repeat(100) + "</p><p>user not found</p>";
+        Recorder recorder = new Recorder();
+
+        BodyScan scan = scan(StandardCharsets.UTF_8, "octocat", 64, 4096, List.of(html.getBytes(StandardCharsets.UTF_8)), recorder);
+
+        assertThat(scan.notFoundIndicator()).isNull();
+        assertThat(scan.bytesRead()).isEqualTo(64);
+        assertThat(scan.complete()).isFalse();
+        assertThat(recorder.cancelled).isTrue();
+    }
+
+    @Test
+    void stopsAtMaxBytesAcrossChunks() {
+        byte[] body = ("<p>" + "a".repeat(100) + "</p>").getBytes(StandardCharsets.UTF_8);
+
+        BodyScan scan = scan(StandardCharsets.UTF_8, "octocat", 10, 4096, oneBytePerChunk(body));
+
+        assertThat(scan.bytesRead()).isEqualTo(10);
+        assertThat(scan.complete()).isFalse();
+    }
+
+    @Test
+    void settlesFoundOnceMarginPassesWithoutIndicator() {
+        String html = "<h1>OctoCat</h1><p>" + "x".repeat(100) + "</p><p>user not found</p>";
+        Recorder recorder = new Recorder();
+
+        BodyScan scan = scan(StandardCharsets.UTF_8, "octocat", NO_LIMIT, 20, List.of(html.getBytes(StandardCharsets.UTF_8)), recorder);
+
+        assertThat(scan.usernameSeen()).isTrue();
+        assertThat(scan.notFoundIndicator()).isNull();
+        assertThat(scan.complete()).isFalse();
+        assertThat(recorder.cancelled).isTrue();
+    }
+
+    @Test
+    void reportsIndicatorNearEchoedUsername() {
+        BodyScan scan = scan(StandardCharsets.UTF_8, "octocat", NO_LIMIT, 100,
+                List.of("<p>octocat: user not found</p>".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(scan.usernameSeen()).isTrue();
+        assertThat(scan.notFoundIndicator()).isEqualTo("user not found");
+    }
+
+    private static BodyScan scan(String html) {
+        return scan(StandardCharsets.UTF_8, "octocat", NO_LIMIT, 4096, List.of(html.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static BodyScan scan(Charset charset, String username, long maxBytes, int margin, List<byte[]> chunks) {
+        return scan(charset, username, maxBytes, margin, chunks, new Recorder());
+    }
+
+    private static BodyScan scan(Charset charset, String username, long maxBytes, int margin, List<byte[]> chunks, Recorder recorder) {
+        BodyScanSubscriber subscriber = new BodyScanSubscriber(charset, NOT_FOUND, username, maxBytes, margin);
+        subscriber.onSubscribe(recorder);
+        for (byte[] chunk : chunks) {
+            if (recorder.cancelled) break;
+            subscriber.onNext(List.of(ByteBuffer.wrap(chunk)));
+        }
+        if (!recorder.cancelled) subscriber.onComplete();
+        return subscriber.getBody().toCompletableFuture().join();
+    }
+
+    private static List<byte[]> oneBytePerChunk(byte[] body) {
+        List<byte[]> chunks = new ArrayList<>();
+        for (byte b : body) chunks.add(new byte[]{b});
+        return chunks;
+    }
+
+    private static final class Recorder implements Flow.Subscription {
+
+        private boolean cancelled;
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
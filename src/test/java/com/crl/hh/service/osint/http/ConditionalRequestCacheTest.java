@@ -0,0 +1,110 @@
+package com.crl.hh.service.osint.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConditionalRequestCacheTest {
+
+    private static final String URL = "https://example.com/octocat";
+
+    private final ConditionalRequestCache<String> cache = new ConditionalRequestCache<>(100, Duration.ofHours(1));
+
+    @Test
+    void sendsNoValidatorsForUnknownUrl() {
+        HttpRequest request = cache.conditional(URL, builder()).build();
+
+        assertThat(request.headers().map()).isEmpty();
+    }
+
+    @Test
+    void sendsRememberedValidators() {
+        cache.remember(URL, response(200, Map.of("ETag", "\"v1\"", "Last-Modified", "Tue, 01 Sep 2026 10:00:00 GMT")), "FOUND");
+
+        HttpRequest request = cache.conditional(URL, builder()).build();
+
+        assertThat(request.headers().firstValue("If-None-Match")).hasValue("\"v1\"");
+        assertThat(request.headers().firstValue("If-Modified-Since")).hasValue("Tue, 01 Sep 2026 10:00:00 GMT");
+    }
+
+    @Test
+    void reusesVerdictOnNotModified() {
+        cache.remember(URL, response(200, Map.of("ETag", "\"v1\"")), "FOUND");
+
+        assertThat(cache.reuse(URL, response(304, Map.of()))).isEqualTo("FOUND");
+        assertThat(cache.revalidated()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotReuseOnFreshResponse() {
+        cache.remember(URL, response(200, Map.of("ETag", "\"v1\"")), "FOUND");
+
+        assertThat(cache.reuse(URL, response(200, Map.of("ETag", "\"v2\"")))).isNull();
+        assertThat(cache.revalidated()).isZero();
+    }
+
+    @Test
+    void doesNotReuseForUnknownUrl() {
+        assertThat(cache.reuse(URL, response(304, Map.of()))).isNull();
+    }
+
+    @Test
+    void replacesVerdictWithNewerRepresentation() {
+        cache.remember(URL, response(200, Map.of("ETag", "\"v1\"")), "FOUND");
+        cache.remember(URL, response(200, Map.of("ETag", "\"v2\"")), "ABSENT");
+
+        assertThat(cache.conditional(URL, builder()).build().headers().firstValue("If-None-Match")).hasValue("\"v2\"");
+        assertThat(cache.reuse(URL, response(304, Map.of()))).isEqualTo("ABSENT");
+    }
+
+    @Test
+    void forgetsUrlWhenResponseHasNoValidators() {
+        cache.remember(URL, response(200, Map.of("ETag", "\"v1\"")), "FOUND");
+        cache.remember(URL, response(200, Map.of()), "FOUND");
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.reuse(URL, response(304, Map.of()))).isNull();
+    }
+
+    @Test
+    void forgetsUrlOnNonSuccessStatus() {
+        cache.remember(URL, response(200, Map.of("ETag", "\"v1\"")), "FOUND");
+        cache.remember(URL, response(404, Map.of("ETag", "\"gone\"")), "ABSENT");
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void clearDropsAllValidators() {
+        cache.remember(URL, response(200, Map.of("ETag", "\"v1\"")), "FOUND");
+
+        cache.clear();
+
+        assertThat(cache.conditional(URL, builder()).build().headers().map()).isEmpty();
+    }
+
+    private static HttpRequest.Builder builder() {
+        return HttpRequest.newBuilder(URI.create(URL));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<Void> response(int statusCode, Map<String, String> headers) {
+        HttpResponse<Void> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(statusCode);
+        when(response.headers()).thenReturn(HttpHeaders.of(
+                headers.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> List.of(e.getValue()))),
+                (name, value) -> true));
+        return response;
+    }
+}
@@ -0,0 +1,53 @@
+package com.crl.hh.service.osint.http;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HostConcurrencyLimiterTest {
+
+    private HostConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new HostConcurrencyLimiter();
+        ReflectionTestUtils.setField(limiter, "perHostLimit", 2);
+        ReflectionTestUtils.setField(limiter, "permitTimeoutMs", 50L);
+    }
+
+    @Test
+    void limitsConcurrentRequestsPerHost() throws Exception {
+        limiter.acquire(URI.create("https://github.com/a"));
+        limiter.acquire(URI.create("https://GitHub.com/b"));
+
+        assertThatThrownBy(() -> limiter.acquire(URI.create("https://github.com/c")))
+                .isInstanceOf(HttpTimeoutException.class)
+                .hasMessageContaining("github.com");
+    }
+
+    @Test
+    void keepsHostsIndependent() throws Exception {
+        limiter.acquire(URI.create("https://github.com/a"));
+        limiter.acquire(URI.create("https://github.com/b"));
+
+        assertThat(limiter.acquire(URI.create("https://gitlab.com/a"))).isNotNull();
+    }
+
+    @Test
+    void releasesSlotOnceOnClose() throws Exception {
+        HostConcurrencyLimiter.Permit permit = limiter.acquire(URI.create("https://github.com/a"));
+        limiter.acquire(URI.create("https://github.com/b"));
+
+        permit.close();
+        permit.close();
+
+        limiter.acquire(URI.create("https://github.com/c"));
+        assertThatThrownBy(() -> limiter.acquire(URI.create("https://github.com/d"))).isInstanceOf(HttpTimeoutException.class);
+    }
+}
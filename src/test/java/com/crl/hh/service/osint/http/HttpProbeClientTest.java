@@ -0,0 +1,120 @@
+package com.crl.hh.service.osint.http;
+
+import com.crl.hh.matcher.IndicatorMatcher;
+import com.crl.hh.repository.models.SiteEntity;
+import com.crl.hh.service.osint.catalogue.CatalogueSnapshot;
+import com.crl.hh.service.osint.catalogue.SiteCatalogue;
+import com.crl.hh.service.osint.health.SiteHealthRegistry;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class HttpProbeClientTest {
+
+    private HttpServer server;
+    private AtomicInteger heads;
+    private SiteHealthRegistry siteHealthRegistry;
+    private HostConcurrencyLimiter hostConcurrencyLimiter;
+    private HttpProbeClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        heads = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            if (exchange.getRequestMethod().equals("HEAD")) heads.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+
+        SiteCatalogue siteCatalogue = mock(SiteCatalogue.class);
+        when(siteCatalogue.current()).thenReturn(new CatalogueSnapshot(1, Instant.now(), List.of(), IndicatorMatcher.empty()));
+        siteHealthRegistry = mock(SiteHealthRegistry.class);
+        when(siteHealthRegistry.state(anyString())).thenReturn(SiteHealthRegistry.CircuitState.CLOSED);
+        when(siteHealthRegistry.lastCheckedAt(anyString())).thenReturn(System.currentTimeMillis());
+        hostConcurrencyLimiter = new HostConcurrencyLimiter();
+        ReflectionTestUtils.setField(hostConcurrencyLimiter, "perHostLimit", 1);
+        ReflectionTestUtils.setField(hostConcurrencyLimiter, "permitTimeoutMs", 50L);
+
+        client = new HttpProbeClient(siteCatalogue, hostConcurrencyLimiter, siteHealthRegistry);
+        ReflectionTestUtils.setField(client, "connectTimeoutMs", 1_000L);
+        ReflectionTestUtils.setField(client, "keepWarmIntervalMs", 0L);
+        ReflectionTestUtils.setField(client, "warmUpTimeoutMs", 1_000L);
+        ReflectionTestUtils.setField(client, "keepWarmIdleMs", 60_000L);
+        ReflectionTestUtils.setField(client, "conditionalMaxSize", 100L);
+        ReflectionTestUtils.setField(client, "conditionalTtlSeconds", 60L);
+        client.init();
+        ReflectionTestUtils.setField(client, "origins", Map.of(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/"), List.of("Local")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.cleanup();
+        server.stop(0);
+    }
+
+    @Test
+    void warmsUpActiveHosts() throws Exception {
+        client.warmUp(true);
+
+        awaitWarmUps(1);
+        assertThat(heads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void skipsHostsWithoutClosedCircuit() {
+        when(siteHealthRegistry.state("Local")).thenReturn(SiteHealthRegistry.CircuitState.OPEN);
+
+        client.warmUp(false);
+
+        assertThat(client.stats()).containsEntry("warmUpsSkipped", 1L);
+        assertThat(heads.get()).isZero();
+    }
+
+    @Test
+    void keepWarmSkipsHostsIdleForTheWholeWindow() throws Exception {
+        when(siteHealthRegistry.lastCheckedAt("Local")).thenReturn(System.currentTimeMillis() - 120_000);
+
+        client.warmUp(true);
+        assertThat(client.stats()).containsEntry("warmUpsSkipped", 1L);
+
+        client.warmUp(false);
+        awaitWarmUps(1);
+        assertThat(heads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void neverWaitsForABusyHost() throws Exception {
+        HostConcurrencyLimiter.Permit permit = hostConcurrencyLimiter.acquire(URI.create("http://127.0.0.1/"));
+
+        client.warmUp(true);
+
+        assertThat(client.stats()).containsEntry("warmUpsSkipped", 1L);
+        permit.close();
+        client.warmUp(true);
+        awaitWarmUps(1);
+        assertThat(hostConcurrencyLimiter.tryAcquire(URI.create("http://127.0.0.1/"))).isNotNull();
+    }
+
+    private void awaitWarmUps(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (client.stats().get("warmUps") + client.stats().get("warmUpFailures") < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(client.stats()).containsEntry("warmUps", expected);
+    }
+}
@@ -0,0 +1,168 @@
+package com.crl.hh.service.osint.job;
+
+import com.crl.hh.matcher.IndicatorMatcher;
+import com.crl.hh.repository.SearchJobRepository;
+import com.crl.hh.repository.SearchJobResultRepository;
+import com.crl.hh.repository.models.SearchJob;
+import com.crl.hh.repository.models.SiteEntity;
+import com.crl.hh.repository.models.dto.SiteResult;
+import com.crl.hh.repository.models.enums.JobStatus;
+import com.crl.hh.repository.models.enums.SiteStatus;
+import com.crl.hh.service.osint.OSINTService;
+import com.crl.hh.service.osint.catalogue.CatalogueSnapshot;
+import com.crl.hh.service.osint.catalogue.SiteCatalogue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SearchJobServiceTest {
+
+    private static final UUID JOB_ID = UUID.randomUUID();
+
+    private OSINTService osintService;
+    private SiteCatalogue siteCatalogue;
+    private SearchJobRepository searchJobRepository;
+    private JdbcTemplate jdbcTemplate;
+    private SearchJobService service;
+
+    private BiPredicate<String, SiteEntity> skip;
+    private Consumer<SiteResult> sink;
+    private CompletableFuture<Void> run;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        osintService = mock(OSINTService.class);
+        siteCatalogue = mock(SiteCatalogue.class);
+        searchJobRepository = mock(SearchJobRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        service = new SearchJobService(osintService, siteCatalogue, searchJobRepository, mock(SearchJobResultRepository.class), jdbcTemplate);
+        ReflectionTestUtils.setField(service, "maxUsernames", 1000);
+        ReflectionTestUtils.setField(service, "maxRunning", 4);
+        ReflectionTestUtils.setField(service, "leaseMs", 30_000L);
+        ReflectionTestUtils.setField(service, "flushBatchSize", 500);
+
+        when(siteCatalogue.current()).thenReturn(new CatalogueSnapshot(1, Instant.now(), List.of(site("GitHub"), site("GitLab")), IndicatorMatcher.empty()));
+        when(searchJobRepository.findClaimable(any(), any(), any())).thenReturn(List.of(JOB_ID));
+        when(searchJobRepository.claim(eq(JOB_ID), any(), any())).thenReturn(1);
+        when(searchJobRepository.findById(JOB_ID)).thenReturn(Optional.of(job("alice\nbob", 4)));
+
+        ResultSet doneRow = mock(ResultSet.class);
+        when(doneRow.getString("username")).thenReturn("alice");
+        when(doneRow.getString("site")).thenReturn("GitHub");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(doneRow);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(JOB_ID));
+
+        run = new CompletableFuture<>();
+        when(osintService.checkAll(anyList(), any(), any())).thenAnswer(invocation -> {
+            skip = invocation.getArgument(1);
+            sink = invocation.getArgument(2);
+            return run;
+        });
+    }
+
+    @Test
+    void resumesOnlyPairsWithoutStoredVerdict() {
+        service.claimJobs();
+
+        verify(osintService).checkAll(eq(List.of("alice", "bob")), any(), any());
+        assertThat(skip.test("alice", site("GitHub"))).isTrue();
+        assertThat(skip.test("alice", site("GitLab"))).isFalse();
+        assertThat(skip.test("bob", site("GitHub"))).isFalse();
+        verify(searchJobRepository, never()).updateTotal(any(), anyInt(), any());
+    }
+
+    @Test
+    void leavesJobClaimedByAnotherNode() {
+        when(searchJobRepository.claim(eq(JOB_ID), any(), any())).thenReturn(0);
+
+        service.claimJobs();
+
+        verifyNoInteractions(osintService);
+    }
+
+    @Test
+    void recountsTotalWhenCatalogueChanged() {
+        when(searchJobRepository.findById(JOB_ID)).thenReturn(Optional.of(job("alice\nbob", 6)));
+
+        service.claimJobs();
+
+        verify(searchJobRepository).updateTotal(eq(JOB_ID), eq(4), any());
+    }
+
+    @Test
+    void countsOnlyInsertedVerdictsAndCompletesJob() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenReturn(new int[][]{{1, 0, 1}});
+        service.claimJobs();
+
+        sink.accept(new SiteResult("alice", "GitLab", "https://gitlab.com/alice", SiteStatus.FOUND, 10));
+        sink.accept(new SiteResult("alice", "GitHub", "https://github.com/alice", SiteStatus.ABSENT, 10));
+        sink.accept(new SiteResult("bob", "GitHub", "https://github.com/bob", SiteStatus.ABSENT, 10));
+        run.complete(null);
+
+        verify(searchJobRepository).addCompleted(eq(JOB_ID), eq(2), any());
+        verify(searchJobRepository).finish(eq(JOB_ID), eq(JobStatus.COMPLETED), any());
+    }
+
+    @Test
+    void requeuesVerdictsWhenFlushFails() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[][]{{1}});
+        service.claimJobs();
+        sink.accept(new SiteResult("bob", "GitLab", "https://gitlab.com/bob", SiteStatus.FOUND, 10));
+
+        service.flush();
+        verify(searchJobRepository, never()).addCompleted(any(), anyInt(), any());
+
+        service.flush();
+        verify(searchJobRepository).addCompleted(eq(JOB_ID), eq(1), any());
+    }
+
+    @Test
+    void leavesCancelledJobUnfinished() {
+        service.claimJobs();
+        when(searchJobRepository.cancel(eq(JOB_ID), eq("owner"), any())).thenReturn(1);
+
+        assertThat(service.cancel(JOB_ID, "owner")).isTrue();
+
+        assertThat(run).isCancelled();
+        verify(searchJobRepository, never()).finish(any(), any(), any());
+    }
+
+    private static SiteEntity site(String name) {
+        SiteEntity site = new SiteEntity();
+        site.setName(name);
+        return site;
+    }
+
+    private static SearchJob job(String usernames, int total) {
+        SearchJob job = new SearchJob();
+        job.setId(JOB_ID);
+        job.setOwner("owner");
+        job.setUsernames(usernames);
+        job.setStatus(JobStatus.RUNNING);
+        job.setTotal(total);
+        job.setCreatedAt(LocalDateTime.now());
+        job.setUpdatedAt(LocalDateTime.now());
+        return job;
+    }
+}
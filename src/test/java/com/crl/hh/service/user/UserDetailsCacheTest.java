@@ -0,0 +1,90 @@
+package com.crl.hh.service.user;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class UserDetailsCacheTest {
+
+    private ReactiveStringRedisTemplate redisTemplate;
+    private UserDetailsCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, UserDetails> loader = username -> {
+        loads.incrementAndGet();
+        return User.withUsername(username).password("x").authorities("USER").build();
+    };
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        when(redisTemplate.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+
+        cache = new UserDetailsCache(redisTemplate, mock(ReactiveRedisConnectionFactory.class));
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "channel", "crl:user-invalidation");
+        ReflectionTestUtils.setField(cache, "redisEnabled", false);
+        cache.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void loadsEachUserOnce() {
+        cache.get("alice", loader);
+        cache.get("alice", loader);
+        cache.get("bob", loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void reloadsAfterInvalidation() {
+        cache.get("alice", loader);
+
+        cache.invalidate("alice");
+        cache.get("alice", loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void broadcastsInvalidationWhenRedisIsEnabled() {
+        ReflectionTestUtils.setField(cache, "redisEnabled", true);
+
+        cache.invalidate("alice");
+
+        verify(redisTemplate).convertAndSend("crl:user-invalidation", "alice");
+    }
+
+    @Test
+    void defersInvalidationUntilCommit() {
+        cache.get("alice", loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate("alice");
+        cache.get("alice", loader);
+        assertThat(loads).hasValue(1);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.get("alice", loader);
+        assertThat(loads).hasValue(2);
+    }
+}